@@ -0,0 +1,81 @@
+package de.tum.cit.ase.bomberquest.bench;
+
+import com.badlogic.gdx.math.RandomXS128;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import de.tum.cit.ase.bomberquest.map.TileGrid;
+
+/**
+ * Builds maps of any size for the benchmarks, laid out like the maps that ship with the game:
+ * a border of indestructible walls, an indestructible pillar on every second tile
+ * and destructible walls scattered over the rest.
+ */
+public final class BenchMaps {
+
+    private BenchMaps() {
+    }
+
+    /**
+     * Generates a map. The same arguments always give the same map.
+     * @param size The width and height of the map, should be odd so the pillars line up with the border.
+     * @param enemies The number of enemies, placed on free tiles away from the entrance.
+     * @param wallDensity The share of free tiles that get a destructible wall, between 0 and 1.
+     * @param seed The seed for placing walls and enemies.
+     */
+    public static MapData generate(int size, int enemies, float wallDensity, long seed) {
+        RandomXS128 random = new RandomXS128(seed);
+        TileGrid tiles = new TileGrid(size, size);
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                if (border || (x % 2 == 0 && y % 2 == 0)) {
+                    tiles.set(x, y, TileGrid.INDESTRUCTIBLE_WALL);
+                } else if (x + y > 3 && random.nextFloat() < wallDensity) {
+                    // Keep the corner around the entrance free
+                    tiles.set(x, y, TileGrid.DESTRUCTIBLE_WALL);
+                }
+            }
+        }
+        MapData map = new MapData(tiles);
+        map.setEntrance(tiles.index(1, 1));
+
+        int attempts = 0;
+        while (map.getEnemies().size < enemies && attempts++ < size * size * 8) {
+            int x = 1 + random.nextInt(size - 2);
+            int y = 1 + random.nextInt(size - 2);
+            if (!tiles.isSolid(x, y) && x + y > 6) {
+                map.getEnemies().add(tiles.index(x, y));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Writes a map in the {@code .properties} format read by {@link MapLoader}.
+     */
+    public static String toProperties(MapData map) {
+        TileGrid tiles = map.getTiles();
+        StringBuilder text = new StringBuilder(tiles.getWidth() * tiles.getHeight() * 8);
+        text.append("# Generated benchmark map\n");
+        appendEntry(text, map.getX(map.getEntrance()), map.getY(map.getEntrance()), MapLoader.FILE_ENTRANCE);
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                switch (tiles.getType(x, y)) {
+                    case TileGrid.INDESTRUCTIBLE_WALL -> appendEntry(text, x, y, MapLoader.FILE_INDESTRUCTIBLE_WALL);
+                    case TileGrid.DESTRUCTIBLE_WALL -> appendEntry(text, x, y, MapLoader.FILE_DESTRUCTIBLE_WALL);
+                    default -> {
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < map.getEnemies().size; i++) {
+            int cell = map.getEnemies().get(i);
+            appendEntry(text, map.getX(cell), map.getY(cell), MapLoader.FILE_ENEMY);
+        }
+        return text.toString();
+    }
+
+    private static void appendEntry(StringBuilder text, int x, int y, int type) {
+        text.append(x).append(',').append(y).append('=').append(type).append('\n');
+    }
+}
@@ -0,0 +1,105 @@
+package de.tum.cit.ase.bomberquest.bench;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.entity.FuseComponent;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.map.BlastEngine;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.TileGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing bombs, burning down their fuses and spreading their explosions.
+ * The map has no destructible walls, so every invocation sees the same map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BombBenchmark {
+
+    @Param({"21", "65", "129"})
+    public int size;
+
+    @Param({"1", "16", "128"})
+    public int bombs;
+
+    private GameMap map;
+    /** The free tiles the bombs are placed on, as cell indices. */
+    private int[] bombCells;
+    /** Fuses of bombs that are not on the map. */
+    private FuseComponent[] fuses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Box2D.init();
+        MapData mapData = BenchMaps.generate(size, 0, 0f, 42);
+        map = new GameMap(mapData, 42, PlayerInput.NONE);
+        map.getEvents().setEnabled(false); // Nothing dispatches them here
+
+        TileGrid tiles = map.getTileGrid();
+        bombCells = new int[bombs];
+        int found = 0;
+        for (int cell = 0; cell < size * size && found < bombs; cell += 3) {
+            if (!tiles.isSolid(cell % size, cell / size)) {
+                bombCells[found++] = cell;
+            }
+        }
+        if (found < bombs) {
+            bombCells = Arrays.copyOf(bombCells, found);
+        }
+
+        fuses = new FuseComponent[bombs];
+        for (int i = 0; i < bombs; i++) {
+            fuses[i] = new FuseComponent();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.dispose();
+    }
+
+    /** Burning down the fuses of the bombs for one step. */
+    @Benchmark
+    public void update(Blackhole blackhole) {
+        for (FuseComponent fuse : fuses) {
+            blackhole.consume(fuse.burn(GameMap.TIME_STEP));
+        }
+    }
+
+    /**
+     * The whole life of the bombs: placing them from the pools of the engine, setting all of them off at once,
+     * spreading the explosions including chain reactions, and handing them back to the pools in the next step.
+     */
+    @Benchmark
+    public void placeAndExplode() {
+        int width = map.getTileGrid().getWidth();
+        for (int cell : bombCells) {
+            map.placeBomb(cell % width, cell / width);
+        }
+        ImmutableArray<Entity> list = map.getBombs();
+        for (int i = 0; i < list.size(); i++) {
+            map.getBlastEngine().detonate(list.get(i));
+        }
+        map.getBlastEngine().process();
+        // Let the flames burn out, so the next invocation starts with a map without fire
+        map.getBlastEngine().update(BlastEngine.FLAME_DURATION);
+        map.step();
+    }
+}
@@ -0,0 +1,107 @@
+package de.tum.cit.ase.bomberquest.bench;
+
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.entity.EnemySystem;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame cost of the simulation: a whole step of the map, a rendered frame,
+ * the Box2D step on its own and the enemy updates on their own.
+ * Also compares restarting a match by building a new map with resetting the map in place.
+ * The map is rebuilt for every iteration, so walls and enemies do not run out during a long run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameMapBenchmark {
+
+    @Param({"21", "65", "129"})
+    public int size;
+
+    @Param({"0", "32", "256"})
+    public int enemies;
+
+    private MapData mapData;
+    private GameMap map;
+
+    @Setup(Level.Trial)
+    public void loadMap() {
+        Box2D.init();
+        mapData = BenchMaps.generate(size, enemies, 0.3f, 42);
+    }
+
+    @Setup(Level.Iteration)
+    public void createMap() {
+        map = new GameMap(mapData.copy(), 42, PlayerInput.NONE);
+        map.getEvents().setEnabled(false); // Nothing dispatches them here
+    }
+
+    @TearDown(Level.Iteration)
+    public void disposeMap() {
+        map.dispose();
+    }
+
+    /** A single fixed step of the whole simulation. */
+    @Benchmark
+    public void step() {
+        map.step();
+    }
+
+    /** A frame at 30 frames per second, which runs two steps. */
+    @Benchmark
+    public void tick() {
+        map.tick(1 / 30f);
+    }
+
+    /** Only the Box2D part of a step, what used to be doPhysicsStep. */
+    @Benchmark
+    public void physicsStep() {
+        map.getWorld().step(GameMap.TIME_STEP, GameMap.VELOCITY_ITERATIONS, GameMap.POSITION_ITERATIONS);
+    }
+
+    /** Only the enemy updates of a step, including their wall checks. */
+    @Benchmark
+    public void enemyTick() {
+        map.getEngine().getSystem(EnemySystem.class).update(GameMap.TIME_STEP);
+    }
+
+    /** Restarting a match the old way, with a new map and a new physics world. */
+    @Benchmark
+    public void rebuild(Blackhole blackhole) {
+        GameMap rebuilt = new GameMap(mapData.copy(), 42, PlayerInput.NONE);
+        blackhole.consume(rebuilt);
+        rebuilt.dispose();
+    }
+
+    /** Restarting a match in place, see {@link GameMap#reset(long)}. */
+    @Benchmark
+    public void reset() {
+        map.reset(42);
+    }
+
+    /** The wall lookups enemies and the flow field do, for every tile of the map. */
+    @Benchmark
+    public void wallChecks(Blackhole blackhole) {
+        int size = this.size;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                blackhole.consume(map.getTileGrid().isSolid(x, y));
+            }
+        }
+    }
+}
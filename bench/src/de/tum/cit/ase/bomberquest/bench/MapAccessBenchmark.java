@@ -0,0 +1,90 @@
+package de.tum.cit.ase.bomberquest.bench;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.map.CompiledMap;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading maps from disk and the lists the renderer builds from the map every frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapAccessBenchmark {
+
+    @Param({"21", "65", "129"})
+    public int size;
+
+    @Param({"0", "32", "256"})
+    public int enemies;
+
+    private FileHandle propertiesFile;
+    private FileHandle compiledFile;
+    private GameMap map;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Box2D.init();
+        MapData mapData = BenchMaps.generate(size, enemies, 0.3f, 42);
+
+        File properties = File.createTempFile("bench-map", ".properties");
+        Files.writeString(properties.toPath(), BenchMaps.toProperties(mapData), StandardCharsets.UTF_8);
+        propertiesFile = new FileHandle(properties);
+        File compiled = File.createTempFile("bench-map", "." + CompiledMap.EXTENSION);
+        compiledFile = new FileHandle(compiled);
+        CompiledMap.write(mapData, compiledFile);
+
+        map = new GameMap(mapData, 42, PlayerInput.NONE);
+        map.getEvents().setEnabled(false); // Nothing dispatches them here
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        map.dispose();
+        propertiesFile.delete();
+        compiledFile.delete();
+    }
+
+    /** Parsing a map from the maps/*.properties format. */
+    @Benchmark
+    public MapData loadProperties() {
+        return MapLoader.load(propertiesFile);
+    }
+
+    /** Reading the same map from the compiled format. */
+    @Benchmark
+    public MapData loadCompiled() {
+        return CompiledMap.read(compiledFile);
+    }
+
+    /** Looking at every tile through the map, as a renderer drawing all tiles would. */
+    @Benchmark
+    public void getTiles(Blackhole blackhole) {
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                blackhole.consume(map.getTile(x, y).isDestructible());
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.tum.cit.ase.bomberquest;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.audio.MusicTrack;
+import de.tum.cit.ase.bomberquest.audio.SoundEffect;
+import de.tum.cit.ase.bomberquest.map.CompiledMap;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapDataLoader;
+import de.tum.cit.ase.bomberquest.texture.SpriteSheet;
+
+/**
+ * The registry of all files the game loads: the skin, the sprites, the music, the sound effects and the maps.
+ * Everything is loaded by an {@link AssetManager}, which decodes images and audio on its own thread,
+ * so the window stays responsive while the game starts. Call {@link #queue(String...)} once,
+ * then {@link #update()} every frame until it returns true, e.g. from the {@link de.tum.cit.ase.bomberquest.screen.LoadingScreen}.
+ * <p>
+ * Once everything is loaded, the {@link SpriteSheet}, {@link MusicTrack} and {@link SoundEffect} enums
+ * are handed their files, so the rest of the game can keep using them as before.
+ * The registry owns all loaded files; they are freed when it is disposed.
+ */
+public class Assets implements Disposable {
+
+    /** The UI skin. Its texture atlas and fonts are loaded along with it. */
+    public static final String SKIN = "skin/craftacular/craftacular-ui.json";
+
+    /** How many milliseconds {@link #update()} may block the render thread per frame. */
+    private static final int UPDATE_BUDGET_MILLIS = 10;
+
+    private final AssetManager manager;
+    /** Whether the enums have been handed their files yet. */
+    private boolean resolved = false;
+
+    public Assets() {
+        this.manager = new AssetManager(new InternalFileHandleResolver());
+        this.manager.setLoader(MapData.class, new MapDataLoader(manager.getFileHandleResolver()));
+    }
+
+    /**
+     * Queues everything the game needs, plus the given maps.
+     * Nothing is loaded yet, this only tells the asset manager what to load.
+     * Music and sound files that do not exist are skipped, the corresponding tracks and effects stay silent.
+     * @param maps The names of the maps to load, without file extension.
+     */
+    public void queue(String... maps) {
+        manager.load(SKIN, Skin.class);
+        if (Gdx.files.internal(SpriteSheet.ATLAS_FILE).exists()) {
+            manager.load(SpriteSheet.ATLAS_FILE, TextureAtlas.class);
+        } else {
+            // The atlas has not been packed, e.g. when running from an IDE, so load the spritesheets separately
+            for (SpriteSheet sheet : SpriteSheet.values()) {
+                manager.load(sheet.getFileName(), Texture.class);
+            }
+        }
+        for (MusicTrack track : MusicTrack.values()) {
+            queueIfExists(track.getFileName(), Music.class);
+        }
+        for (SoundEffect effect : SoundEffect.values()) {
+            queueIfExists(effect.getFileName(), Sound.class);
+        }
+        for (String map : maps) {
+            manager.load(mapFileName(map), MapData.class);
+        }
+    }
+
+    private void queueIfExists(String fileName, Class<?> type) {
+        if (Gdx.files.internal(fileName).exists()) {
+            manager.load(fileName, type);
+        } else {
+            Gdx.app.log("Assets", "Skipping missing file " + fileName);
+        }
+    }
+
+    /**
+     * Loads for a few milliseconds and returns.
+     * Call this every frame until it returns true.
+     * @return True if everything has been loaded.
+     */
+    public boolean update() {
+        if (!manager.update(UPDATE_BUDGET_MILLIS)) {
+            return false;
+        }
+        if (!resolved) {
+            SpriteSheet.resolveAll(this);
+            MusicTrack.resolveAll(this);
+            SoundEffect.resolveAll(this);
+            resolved = true;
+        }
+        return true;
+    }
+
+    /**
+     * Returns how much has been loaded so far, between 0 and 1.
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    public Skin getSkin() {
+        return manager.get(SKIN, Skin.class);
+    }
+
+    /**
+     * Returns a whole spritesheet, either from the packed atlas or from its own texture.
+     * @param sheet The spritesheet.
+     * @return The region of the spritesheet.
+     */
+    public TextureRegion getSpriteSheet(SpriteSheet sheet) {
+        if (manager.isLoaded(SpriteSheet.ATLAS_FILE)) {
+            TextureRegion region = manager.get(SpriteSheet.ATLAS_FILE, TextureAtlas.class).findRegion(sheet.getName());
+            if (region == null) {
+                throw new GdxRuntimeException("The atlas " + SpriteSheet.ATLAS_FILE + " does not contain " + sheet.getName());
+            }
+            return region;
+        }
+        return new TextureRegion(manager.get(sheet.getFileName(), Texture.class));
+    }
+
+    /**
+     * Returns the music in the given file, or null if the file does not exist.
+     */
+    public Music getMusic(String fileName) {
+        return manager.isLoaded(fileName) ? manager.get(fileName, Music.class) : null;
+    }
+
+    /**
+     * Returns the sound in the given file, or null if the file does not exist.
+     */
+    public Sound getSound(String fileName) {
+        return manager.isLoaded(fileName) ? manager.get(fileName, Sound.class) : null;
+    }
+
+    /**
+     * Returns a map that has been queued with {@link #queue(String...)}.
+     * Every call returns the same map data, so copy it before changing it.
+     * @param name The name of the map without file extension.
+     */
+    public MapData getMapData(String name) {
+        return manager.get(mapFileName(name), MapData.class);
+    }
+
+    /**
+     * Prefers the compiled {@code .bqmap} version of a map, which is memory-mapped and needs no parsing,
+     * and falls back to the {@code .properties} source if the map has not been compiled.
+     */
+    private static String mapFileName(String name) {
+        String compiled = "maps/" + name + "." + CompiledMap.EXTENSION;
+        return Gdx.files.internal(compiled).exists() ? compiled : "maps/" + name + ".properties";
+    }
+
+    @Override
+    public void dispose() {
+        manager.dispose();
+    }
+}
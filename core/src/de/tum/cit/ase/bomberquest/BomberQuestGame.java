@@ -3,13 +3,20 @@
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.assets.AssetManager;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import de.tum.cit.ase.bomberquest.audio.MusicTrack;
+import de.tum.cit.ase.bomberquest.input.InputRecording;
+import de.tum.cit.ase.bomberquest.input.KeyboardInput;
+import de.tum.cit.ase.bomberquest.input.RecordingInput;
+import de.tum.cit.ase.bomberquest.input.ReplayInput;
+import de.tum.cit.ase.bomberquest.input.SampledInput;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
 import de.tum.cit.ase.bomberquest.screen.GameScreen;
+import de.tum.cit.ase.bomberquest.screen.LoadingScreen;
 import de.tum.cit.ase.bomberquest.screen.MenuScreen;
 import games.spooky.gdx.nativefilechooser.NativeFileChooser;
 
@@ -19,6 +26,9 @@
  */
 public class BomberQuestGame extends Game {
 
+    /** The name of the map that is loaded when the game starts. */
+    private static final String DEFAULT_MAP = "map-1";
+
     /**
      * Sprite Batch for rendering game elements.
      * This eats a lot of memory, so we only want one of these.
@@ -41,7 +51,30 @@ public class BomberQuestGame extends Game {
      * because the map should not be destroyed if we temporarily switch to another screen.
      */
     private GameMap map;
-    private AssetManager assetManager;
+
+    /** All files the game loads. They are loaded in the background while the {@link LoadingScreen} is shown. */
+    private Assets assets;
+
+    /**
+     * The screens are created once all assets have been loaded and are kept for the life of the game,
+     * so switching between the menu and the game, e.g. with Esc, only hides one screen and shows the other.
+     */
+    private MenuScreen menuScreen;
+    private GameScreen gameScreen;
+
+    /**
+     * The buttons of the current session, so it can be replayed exactly.
+     * When a replay is watched, this is the replay.
+     */
+    private InputRecording recording;
+    /** Whether the recording is played back instead of being recorded from the keyboard. */
+    private final boolean replaying;
+    /** Plays back the recording, or null unless a replay is watched. */
+    private ReplayInput replayInput;
+    /** The keyboard as the map sees it, sampled once per frame by the {@link GameScreen}, or null while replaying. */
+    private SampledInput input;
+    /** Whether the map is simulated on its own thread instead of in between frames, see {@link #setThreadedSimulation}. */
+    private boolean threadedSimulation = false;
 
     /**
      * Constructor for BomberQuestGame.
@@ -49,42 +82,134 @@ public class BomberQuestGame extends Game {
      * @param fileChooser The file chooser for the game, typically used in desktop environment.
      */
     public BomberQuestGame(NativeFileChooser fileChooser) {
+        this(fileChooser, null);
+    }
+
+    /**
+     * Constructor for a BomberQuestGame that watches a replay at normal speed instead of being played.
+     *
+     * @param fileChooser The file chooser for the game, typically used in desktop environment.
+     * @param replay The session to play back, or null to play normally.
+     */
+    public BomberQuestGame(NativeFileChooser fileChooser, InputRecording replay) {
         this.fileChooser = fileChooser;
+        this.recording = replay;
+        this.replaying = replay != null;
     }
 
     /**
-     * Called when the game is created. Initializes the SpriteBatch and Skin.
+     * Called when the game is created. Initializes the SpriteBatch and starts loading everything else.
      * During the class constructor, libGDX is not fully initialized yet.
      * Therefore this method serves as a second constructor for the game,
      * and we can use libGDX resources here.
+     * Nothing is loaded here, so the window shows up at once.
      */
     @Override
     public void create() {
         this.spriteBatch = new SpriteBatch(); // Create SpriteBatch for rendering
-        this.skin = new Skin(Gdx.files.internal("skin/craftacular/craftacular-ui.json")); // Load UI skin
-        this.map = new GameMap(this); // Create a new game map (you should change this to load the map from a file instead)
-        MusicTrack.BACKGROUND.play(); // Play some background music
-        goToMenu(); // Navigate to the menu screen
+        this.assets = new Assets();
+        assets.queue(replaying ? recording.getMapName() : DEFAULT_MAP); // Load the skin, sprites, audio and the default map in the background
+        this.setScreen(new LoadingScreen(this, assets)); // Show the progress while loading
+    }
 
-        assetManager = new AssetManager();
-        assetManager.load("destructible.png", Texture.class);
-        assetManager.load("indestructible.png", Texture.class);
-        assetManager.load("path.png", Texture.class);
-        assetManager.finishLoading(); // Ensures all assets are loaded before use
+    /**
+     * Called by the {@link LoadingScreen} once all assets have been loaded.
+     * Sets up the map and the screens, navigates to the menu and disposes the loading screen.
+     */
+    public void onAssetsLoaded() {
+        Screen loadingScreen = getScreen();
+        this.skin = assets.getSkin();
+        if (replaying) {
+            this.replayInput = new ReplayInput(recording);
+            this.map = recording.createMap(assets.getMapData(recording.getMapName()), replayInput);
+        } else {
+            // Load the default map and record every step, so the session can be replayed exactly
+            this.recording = new InputRecording(DEFAULT_MAP, MathUtils.random.nextLong(), GameRules.DEFAULT);
+            this.input = new SampledInput(new KeyboardInput());
+            this.map = recording.createMap(assets.getMapData(DEFAULT_MAP), new RecordingInput(input, recording));
+        }
+        // Build both screens now, so switching to them later never has to create anything
+        this.menuScreen = new MenuScreen(this);
+        this.gameScreen = new GameScreen(this);
+        if (replaying) {
+            goToGame(); // Start watching at once
+        } else {
+            MusicTrack.BACKGROUND.play(); // Play some background music
+            goToMenu(); // Navigate to the menu screen
+        }
+        loadingScreen.dispose();
     }
 
     /**
-     * Switches to the menu screen.
+     * Switches to the menu screen. The game screen is only hidden, so the match can be continued.
      */
     public void goToMenu() {
-        this.setScreen(new MenuScreen(this)); // Set the current screen to MenuScreen
+        this.setScreen(menuScreen);
     }
 
     /**
-     * Switches to the game screen.
+     * Switches to the game screen and continues the match where it was left.
      */
     public void goToGame() {
-        this.setScreen(new GameScreen(this)); // Set the current screen to GameScreen
+        this.setScreen(gameScreen);
+    }
+
+    /**
+     * Starts the match over on the same map, with a new seed.
+     * The map is reset in place, so this is instant even on large maps,
+     * and the recording starts its next match, so a replay resets the map at the same step.
+     * Does nothing while a replay is watched, the replay restarts its matches by itself, see {@link #continueReplay()}.
+     * Must be called where the map is simulated, see {@link #setThreadedSimulation(boolean)}.
+     */
+    public void restartGame() {
+        if (replaying) {
+            return;
+        }
+        long seed = MathUtils.random.nextLong();
+        recording.restart(seed);
+        map.reset(seed);
+    }
+
+    /**
+     * Restarts the match of a watched replay where the session restarted it: once the map has played every step
+     * that was recorded for the match, it is reset with the seed of the next match.
+     * Must be called after every step, where the map is simulated, see {@link #setThreadedSimulation(boolean)}.
+     * @return True if the match has been restarted. Always false unless a replay is watched.
+     */
+    public boolean continueReplay() {
+        if (!replaying || map.canStep() || !replayInput.nextMatch()) {
+            return false;
+        }
+        map.reset(replayInput.getSeed());
+        return true;
+    }
+
+    /**
+     * Returns whether the map may be restored to an earlier state of the current match, e.g. with a quick load.
+     * The recording has to hold every step up to that state, or else the steps in between would be missing
+     * from the replay. Must be called where the map is simulated, see {@link #setThreadedSimulation(boolean)}.
+     * @param step The step of the state, see {@link GameMap#getStepCount()}.
+     */
+    public boolean canRestore(long step) {
+        return replaying || step <= recording.getStepCount(recording.getMatchCount() - 1);
+    }
+
+    /**
+     * Simulates the map on its own thread at a fixed rate instead of in between frames,
+     * so a slow step does not delay the frame. Must be called before the game is created.
+     * @see de.tum.cit.ase.bomberquest.simulation.SimulationThread
+     */
+    public void setThreadedSimulation(boolean threadedSimulation) {
+        this.threadedSimulation = threadedSimulation;
+    }
+
+    public boolean isThreadedSimulation() {
+        return threadedSimulation;
+    }
+
+    /** Returns the keyboard input of the map, which has to be sampled once per frame, or null while a replay is watched. */
+    public SampledInput getInput() {
+        return input;
     }
 
     /** Returns the skin for UI elements. */
@@ -103,29 +228,40 @@ public GameMap getMap() {
     }
     
     /**
-     * Switches to the given screen and disposes of the previous screen.
-     * @param screen the new screen
+     * Writes the session recorded so far to a replay file in the working directory.
+     * Does nothing while a replay is watched.
+     * @param name The name of the file, without extension.
      */
-    @Override
-    public void setScreen(Screen screen) {
-        Screen previousScreen = super.screen;
-        super.setScreen(screen);
-        if (previousScreen != null) {
-            previousScreen.dispose();
+    public void saveRecording(String name) {
+        if (replaying || recording == null) {
+            return;
         }
+        FileHandle file = Gdx.files.local("replays/" + name + "." + InputRecording.EXTENSION);
+        recording.write(file);
+        Gdx.app.log("Replay", "Wrote " + recording.getStepCount() + " steps to " + file.path());
     }
 
     /** Cleans up resources when the game is disposed. */
     @Override
     public void dispose() {
-        getScreen().hide(); // Hide the current screen
-        getScreen().dispose(); // Dispose the current screen
+        Screen current = getScreen();
+        current.hide(); // Hide the current screen
+        if (current != menuScreen && current != gameScreen) {
+            current.dispose(); // Still loading, so only the loading screen exists
+        }
+        if (menuScreen != null) {
+            menuScreen.dispose();
+            gameScreen.dispose(); // Stops the simulation thread, if there is one
+        }
+        saveRecording("last"); // Keep the last session, so bugs can be reproduced after the game was closed
         spriteBatch.dispose(); // Dispose the spriteBatch
-        skin.dispose(); // Dispose the skin
+        MusicTrack.stopAll();
+        assets.dispose(); // Dispose the skin, textures and audio
     }
 
-    public AssetManager getAssetManager() {
-        return assetManager;
+    /** Returns the registry of all loaded files. */
+    public Assets getAssets() {
+        return assets;
     }
 }
 
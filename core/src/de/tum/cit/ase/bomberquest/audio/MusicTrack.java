@@ -1,19 +1,21 @@
 package de.tum.cit.ase.bomberquest.audio;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
+import de.tum.cit.ase.bomberquest.Assets;
 
 /**
  * This enum is used to manage the music tracks in the game.
- * Currently, only one track is used, but this could be extended to include multiple tracks.
  * Using an enum for this purpose is a good practice, as it allows for easy management of the music tracks
  * and prevents the same track from being loaded into memory multiple times.
+ * The tracks are decoded in the background by {@link Assets}, which hands them to this enum once it is done.
  * See the assets/audio folder for the actual music files.
  * Feel free to add your own music tracks and use them in the game!
  */
 public enum MusicTrack {
-    
+
     BACKGROUND("background.mp3", 0.2f),
+    MENU("menu_music.mp3", 0.2f),
+    GAMEPLAY("gameplay_music.mp3", 0.2f),
     GAME_OVER("game_over.mp3", 0.2f),
     WIN_THEME("win_theme.mp3",0.4f);
 
@@ -22,39 +24,67 @@ public enum MusicTrack {
     //WIN_THEME("win_theme.mp3",0.4f);
 
 
-    /** The music file owned by this variant. */
-    private final Music music;
+    private final String fileName;
     private final float volume;
+    /** The music owned by this variant, or null if it has not been loaded (yet). */
+    private Music music;
+
 
-    
     MusicTrack(String fileName, float volume) {
-        this.music = Gdx.audio.newMusic(Gdx.files.internal("audio/" + fileName));
-        this.music.setLooping(true);
-        this.music.setVolume(volume);
+        this.fileName = fileName;
         this.volume = volume;
     }
 
+    /**
+     * Hands every track its loaded music. Called by {@link Assets} once everything has been loaded.
+     */
+    public static void resolveAll(Assets assets) {
+        for (MusicTrack track : values()) {
+            track.music = assets.getMusic(track.getFileName());
+            if (track.music != null) {
+                track.music.setLooping(true);
+                track.music.setVolume(track.volume);
+            }
+        }
+    }
 
     /**
-     * Play this music track.
-     * This will not stop other music from playing - if you add more tracks, you will have to handle that yourself.
+     * Play this music track and pause all other tracks.
+     * A track that was paused continues where it was paused, so switching screens back and forth
+     * does not start the music over.
+     * Does nothing if the track has not been loaded, e.g. because its file is missing,
+     * so whatever was playing before keeps playing.
      */
     public void play() {
-        stopAll();
+        if (music == null) {
+            return;
+        }
+        for (MusicTrack track : values()) {
+            if (track != this) {
+                track.pause();
+            }
+        }
         this.music.play();
     }
     public void stop() {
-        this.music.stop();
+        if (music != null) {
+            music.stop();
+        }
     }
     public void pause() {
-        this.music.pause();
+        if (music != null) {
+            music.pause();
+        }
     }
-    public void dispose() {
-        this.music.dispose();
+
+    /** Returns the file of this track, relative to the assets folder. */
+    public String getFileName() {
+        return "audio/" + fileName;
     }
+
     public static void stopAll() {
         for (MusicTrack track : values()) {
-            track.music.stop();
+            track.stop();
         }
     }
 }
@@ -0,0 +1,216 @@
+package de.tum.cit.ase.bomberquest.audio;
+
+import com.badlogic.gdx.audio.Sound;
+
+import java.util.Arrays;
+
+/**
+ * Plays the {@link SoundEffect}s of a match without flooding the audio device.
+ * <p>
+ * Effects are not played right away when they are {@link #trigger triggered}. All triggers of the same effect
+ * in one frame are merged and played as a single voice from the position closest to the player,
+ * so e.g. a chain reaction of fifty bombs plays one explosion instead of fifty.
+ * <p>
+ * At most {@link #MAX_VOICES} effects play at the same time, and at most {@link SoundEffect#getMaxVoices()}
+ * of the same effect. When there is no voice left, or the effect already plays on as many voices as it may,
+ * the new effect takes the least important of those voices: the one with the lowest priority, then the one
+ * furthest from where the player is now, then the oldest. If all of them are more important than the new effect,
+ * the new effect is dropped.
+ * All voices are stored in preallocated arrays, so playing effects does not allocate.
+ */
+public class SoundBank {
+
+    /** How many effects may play at the same time. */
+    public static final int MAX_VOICES = 16;
+    /** Effects this many tiles away from the player are played at the lowest volume. */
+    private static final float HEARING_DISTANCE = 16f;
+    /** The volume of effects far away from the player, relative to their normal volume. */
+    private static final float MIN_ATTENUATION = 0.2f;
+    private static final int FREE = -1;
+
+    private static final SoundEffect[] EFFECTS = SoundEffect.values();
+
+    // The triggers of the current frame: how often each effect was triggered, and the one closest to the player
+    private final int[] triggerCounts = new int[EFFECTS.length];
+    private final float[] triggerDistances = new float[EFFECTS.length];
+    private final float[] triggerXs = new float[EFFECTS.length];
+    private final float[] triggerYs = new float[EFFECTS.length];
+
+    // The playing voices: the effect, its sound id, when it started and ends, and where it was played
+    private final int[] voiceEffects = new int[MAX_VOICES];
+    private final long[] voiceIds = new long[MAX_VOICES];
+    private final float[] voiceStarts = new float[MAX_VOICES];
+    private final float[] voiceEnds = new float[MAX_VOICES];
+    private final float[] voiceXs = new float[MAX_VOICES];
+    private final float[] voiceYs = new float[MAX_VOICES];
+
+    private float time = 0;
+    private float listenerX;
+    private float listenerY;
+
+    public SoundBank() {
+        Arrays.fill(voiceEffects, FREE);
+    }
+
+    /**
+     * Sets where the player is, which decides how loud and how important effects are.
+     */
+    public void setListener(float x, float y) {
+        this.listenerX = x;
+        this.listenerY = y;
+    }
+
+    /**
+     * Asks for an effect to be played at the given position in the next {@link #update(float)}.
+     */
+    public void trigger(SoundEffect effect, float x, float y) {
+        float distance = distanceToListener(x, y);
+        int i = effect.ordinal();
+        if (triggerCounts[i] == 0 || distance < triggerDistances[i]) {
+            triggerDistances[i] = distance;
+            triggerXs[i] = x;
+            triggerYs[i] = y;
+        }
+        triggerCounts[i]++;
+    }
+
+    /**
+     * Frees the voices that have finished and plays the effects triggered since the last update.
+     * Call this once per frame.
+     * @param deltaTime The time since the last update in seconds.
+     */
+    public void update(float deltaTime) {
+        time += deltaTime;
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            if (voiceEffects[voice] != FREE && voiceEnds[voice] <= time) {
+                voiceEffects[voice] = FREE;
+            }
+        }
+        for (int i = 0; i < EFFECTS.length; i++) {
+            if (triggerCounts[i] > 0) {
+                play(EFFECTS[i], triggerXs[i], triggerYs[i]);
+                triggerCounts[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * Plays an effect on a free voice, or on the voice of a less important effect.
+     */
+    private void play(SoundEffect effect, float x, float y) {
+        Sound sound = effect.getSound();
+        if (sound == null) {
+            return;
+        }
+        float distance = distanceToListener(x, y);
+        int voice;
+        if (countVoices(effect) >= effect.getMaxVoices()) {
+            // Too many of this effect, only one of them can make room
+            voice = leastImportantVoice(effect.ordinal());
+        } else {
+            voice = freeVoice();
+            if (voice == FREE) {
+                voice = leastImportantVoice(FREE);
+            }
+        }
+        if (voiceEffects[voice] != FREE && !outranks(effect, distance, voice)) {
+            return;
+        }
+        stop(voice);
+        float attenuation = Math.max(MIN_ATTENUATION, 1 - distance / HEARING_DISTANCE);
+        long id = sound.play(effect.getVolume() * attenuation);
+        if (id == -1) {
+            // The audio device had no voice left either
+            return;
+        }
+        voiceEffects[voice] = effect.ordinal();
+        voiceIds[voice] = id;
+        voiceStarts[voice] = time;
+        voiceEnds[voice] = time + effect.getDuration();
+        voiceXs[voice] = x;
+        voiceYs[voice] = y;
+    }
+
+    private float distanceToListener(float x, float y) {
+        float dx = x - listenerX;
+        float dy = y - listenerY;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private int countVoices(SoundEffect effect) {
+        int count = 0;
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            if (voiceEffects[voice] == effect.ordinal()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int freeVoice() {
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            if (voiceEffects[voice] == FREE) {
+                return voice;
+            }
+        }
+        return FREE;
+    }
+
+    /**
+     * Finds the voice to steal: the lowest priority, then the furthest away from the player, then the oldest.
+     * @param effect Only consider voices playing this effect, or {@link #FREE} to consider all voices.
+     *               All voices must be taken in that case.
+     */
+    private int leastImportantVoice(int effect) {
+        int weakest = FREE;
+        float weakestDistance = 0;
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            if (effect != FREE && voiceEffects[voice] != effect) {
+                continue;
+            }
+            float distance = distanceToListener(voiceXs[voice], voiceYs[voice]);
+            if (weakest == FREE) {
+                weakest = voice;
+                weakestDistance = distance;
+                continue;
+            }
+            int priority = EFFECTS[voiceEffects[voice]].getPriority();
+            int weakestPriority = EFFECTS[voiceEffects[weakest]].getPriority();
+            if (priority < weakestPriority
+                    || priority == weakestPriority && distance > weakestDistance
+                    || priority == weakestPriority && distance == weakestDistance && voiceStarts[voice] < voiceStarts[weakest]) {
+                weakest = voice;
+                weakestDistance = distance;
+            }
+        }
+        return weakest;
+    }
+
+    /**
+     * Checks if a new effect is at least as important as the one playing on the voice,
+     * so a new effect replaces an old one of the same rank.
+     */
+    private boolean outranks(SoundEffect effect, float distance, int voice) {
+        int priority = EFFECTS[voiceEffects[voice]].getPriority();
+        return effect.getPriority() > priority
+                || effect.getPriority() == priority
+                && distance <= distanceToListener(voiceXs[voice], voiceYs[voice]);
+    }
+
+    private void stop(int voice) {
+        if (voiceEffects[voice] != FREE) {
+            EFFECTS[voiceEffects[voice]].getSound().stop(voiceIds[voice]);
+            voiceEffects[voice] = FREE;
+        }
+    }
+
+    /**
+     * Stops all effects and forgets the pending triggers, e.g. when leaving the game screen.
+     */
+    public void stopAll() {
+        for (int voice = 0; voice < MAX_VOICES; voice++) {
+            stop(voice);
+        }
+        Arrays.fill(triggerCounts, 0);
+    }
+}
@@ -0,0 +1,79 @@
+package de.tum.cit.ase.bomberquest.audio;
+
+import com.badlogic.gdx.audio.Sound;
+import de.tum.cit.ase.bomberquest.Assets;
+
+/**
+ * This enum is used to manage the short sound effects in the game, like {@link MusicTrack} does for music.
+ * Every sound is loaded once by {@link Assets} and shared by everything that plays it,
+ * so e.g. placing or exploding a bomb never has to read a file.
+ * The effects are played through a {@link SoundBank}, which limits how many of them play at the same time.
+ * See the assets/audio folder for the actual sound files.
+ */
+public enum SoundEffect {
+
+    BOMB_DROP("bomb_drop.mp3", 0.5f, 1, 4, 0.5f),
+    BOMB_EXPLOSION("bomb_explosion.mp3", 0.5f, 2, 6, 1.5f),
+    POWER_UP("power_up.mp3", 0.5f, 3, 2, 1.0f);
+
+    private final String fileName;
+    private final float volume;
+    private final int priority;
+    private final int maxVoices;
+    private final float duration;
+    /** The sound owned by this variant, or null if it has not been loaded. */
+    private Sound sound;
+
+    /**
+     * @param fileName The file in the assets/audio folder.
+     * @param volume The volume the effect is played with, between 0 and 1.
+     * @param priority Effects with a higher priority take the voices of effects with a lower priority.
+     * @param maxVoices How many instances of this effect may play at the same time.
+     * @param duration About how long the effect plays, in seconds.
+     *                 libGDX does not tell when a sound has finished, so the voice is considered free after this time.
+     */
+    SoundEffect(String fileName, float volume, int priority, int maxVoices, float duration) {
+        this.fileName = fileName;
+        this.volume = volume;
+        this.priority = priority;
+        this.maxVoices = maxVoices;
+        this.duration = duration;
+    }
+
+    /**
+     * Hands every sound effect its loaded sound. Called by {@link Assets} once everything has been loaded.
+     */
+    public static void resolveAll(Assets assets) {
+        for (SoundEffect effect : values()) {
+            effect.sound = assets.getSound(effect.getFileName());
+        }
+    }
+
+    /**
+     * Returns the loaded sound, or null if it has not been loaded, e.g. when the map is simulated without a window.
+     */
+    public Sound getSound() {
+        return sound;
+    }
+
+    public float getVolume() {
+        return volume;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    /** Returns the file of this sound, relative to the assets folder. */
+    public String getFileName() {
+        return "audio/" + fileName;
+    }
+}
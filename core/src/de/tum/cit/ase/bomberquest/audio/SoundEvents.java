@@ -0,0 +1,27 @@
+package de.tum.cit.ase.bomberquest.audio;
+
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+import de.tum.cit.ase.bomberquest.event.GameEventListener;
+
+/**
+ * Triggers the sound effects for the events of a match.
+ * The effects are played by the {@link SoundBank} on its next update, merged with the other effects of the frame.
+ */
+public class SoundEvents implements GameEventListener {
+
+    private final SoundBank soundBank;
+
+    public SoundEvents(SoundBank soundBank) {
+        this.soundBank = soundBank;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, int x, int y) {
+        switch (event) {
+            case BOMB_PLACED -> soundBank.trigger(SoundEffect.BOMB_DROP, x, y);
+            case EXPLODED -> soundBank.trigger(SoundEffect.BOMB_EXPLOSION, x, y);
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Makes an entity an enemy that hunts the player, see {@link EnemySystem}.
+ */
+public class AIComponent implements Component, Pool.Poolable {
+
+    /** How many tiles per second the enemy walks. */
+    public float moveSpeed = 1f;
+    /** How many hits by an explosion the enemy survives, for simplicity enemies die in one hit. */
+    public int health = 1;
+
+    @Override
+    public void reset() {
+        moveSpeed = 1f;
+        health = 1;
+    }
+}
@@ -0,0 +1,18 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * The Box2D hitbox of an entity. The {@link BodySystem} copies its position into the {@link PositionComponent}.
+ */
+public class BodyComponent implements Component, Pool.Poolable {
+
+    public Body body;
+
+    @Override
+    public void reset() {
+        body = null;
+    }
+}
@@ -0,0 +1,23 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Copies the positions of the Box2D hitboxes into the entities after the physics world has been stepped.
+ */
+public class BodySystem extends IteratingSystem {
+
+    public BodySystem() {
+        super(Mappers.BODIES);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        PositionComponent position = Mappers.POSITION.get(entity);
+        Vector2 bodyPosition = Mappers.BODY.get(entity).body.getPosition();
+        position.x = bodyPosition.x;
+        position.y = bodyPosition.y;
+    }
+}
@@ -0,0 +1,72 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.TileGrid;
+
+/**
+ * Moves the enemies.
+ * Enemies chase the player along the shared {@link de.tum.cit.ase.bomberquest.map.FlowField} if there is a way to them,
+ * otherwise they wander around at random, avoiding walls.
+ */
+public class EnemySystem extends IteratingSystem {
+
+    private final GameMap map;
+
+    public EnemySystem(GameMap map) {
+        super(Mappers.ENEMIES);
+        this.map = map;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        PositionComponent position = Mappers.POSITION.get(entity);
+        AIComponent ai = Mappers.AI.get(entity);
+        if (!moveTowardsPlayer(position, ai, deltaTime)) {
+            moveRandomly(position, ai);
+        }
+        map.getEnemyIndex().move(position.spatialId, position.x, position.y);
+    }
+
+    /**
+     * Moves the enemy one step along the shared flow field towards the player.
+     * @return False if the player cannot be reached from the enemy's tile.
+     */
+    private boolean moveTowardsPlayer(PositionComponent position, AIComponent ai, float deltaTime) {
+        TileGrid tiles = map.getTileGrid();
+        int next = map.getFlowField().nextStep(MathUtils.round(position.x), MathUtils.round(position.y));
+        if (next < 0) {
+            return false;
+        }
+        // Walk straight towards the center of the next tile
+        float dx = next % tiles.getWidth() - position.x;
+        float dy = next / tiles.getWidth() - position.y;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        float step = Math.min(distance, ai.moveSpeed * deltaTime);
+        if (distance > 0) {
+            position.x += dx / distance * step;
+            position.y += dy / distance * step;
+        }
+        return true;
+    }
+
+    /**
+     * Moves the enemy in a random direction, unless that would put it into a wall.
+     * Uses the map's random generator, so a seeded map always plays out the same.
+     */
+    private void moveRandomly(PositionComponent position, AIComponent ai) {
+        RandomXS128 random = map.getRandom();
+        float directionX = random.nextFloat() * 2 - 1; // Random -1 to 1
+        float directionY = random.nextFloat() * 2 - 1; // Random -1 to 1
+        float newX = position.x + directionX * ai.moveSpeed;
+        float newY = position.y + directionY * ai.moveSpeed;
+        // Look up the single cell the enemy would end up in instead of scanning the whole map
+        if (!map.getTileGrid().isSolid(MathUtils.round(newX), MathUtils.round(newY))) {
+            position.x = newX;
+            position.y = newY;
+        }
+    }
+}
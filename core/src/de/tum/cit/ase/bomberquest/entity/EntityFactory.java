@@ -0,0 +1,83 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.physics.box2d.Body;
+import de.tum.cit.ase.bomberquest.texture.Appearance;
+
+/**
+ * Puts together the entities of the map from their components.
+ * Entities and components come from the pools of the engine, so e.g. placing a bomb does not allocate.
+ * The created entities are not added to the engine yet.
+ */
+public class EntityFactory {
+
+    private final PooledEngine engine;
+
+    public EntityFactory(PooledEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Creates the player, who is moved by {@link de.tum.cit.ase.bomberquest.map.Player} through its hitbox.
+     */
+    public Entity createPlayer(Body hitbox) {
+        Entity entity = engine.createEntity();
+        position(entity, hitbox.getPosition().x, hitbox.getPosition().y);
+        BodyComponent body = engine.createComponent(BodyComponent.class);
+        body.body = hitbox;
+        entity.add(body);
+        sprite(entity, Appearance.PLAYER, SpriteComponent.LAYER_CHARACTERS);
+        return entity;
+    }
+
+    /**
+     * Creates an enemy that walks around the map.
+     */
+    public Entity createEnemy(float x, float y) {
+        Entity entity = engine.createEntity();
+        position(entity, x, y);
+        entity.add(engine.createComponent(AIComponent.class));
+        return entity;
+    }
+
+    /**
+     * Creates a bomb with a freshly lit fuse.
+     */
+    public Entity createBomb(int x, int y) {
+        Entity entity = engine.createEntity();
+        position(entity, x, y);
+        entity.add(engine.createComponent(FuseComponent.class));
+        sprite(entity, Appearance.BOMB, SpriteComponent.LAYER_GROUND);
+        return entity;
+    }
+
+    /**
+     * Creates the exit. It stays hidden until the wall above it is destroyed.
+     */
+    public Entity createExit(int x, int y) {
+        Entity entity = engine.createEntity();
+        position(entity, x, y);
+        sprite(entity, Appearance.EXIT, SpriteComponent.LAYER_GROUND).visible = false;
+        return entity;
+    }
+
+    private PositionComponent position(Entity entity, float x, float y) {
+        PositionComponent position = engine.createComponent(PositionComponent.class);
+        position.x = x;
+        position.y = y;
+        // A new entity has not moved yet, so it is not drawn sliding in from the origin
+        position.prevX = x;
+        position.prevY = y;
+        entity.add(position);
+        return position;
+    }
+
+    private SpriteComponent sprite(Entity entity, Appearance appearance, int layer) {
+        SpriteComponent sprite = engine.createComponent(SpriteComponent.class);
+        sprite.appearance = appearance;
+        sprite.layer = layer;
+        entity.add(sprite);
+        return sprite;
+    }
+}
@@ -0,0 +1,36 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * The fuse of a bomb. Burnt down by the {@link FuseSystem}, the explosion itself is spread by the
+ * {@link de.tum.cit.ase.bomberquest.map.BlastEngine}.
+ */
+public class FuseComponent implements Component, Pool.Poolable {
+
+    /** How long a bomb burns before it explodes, in seconds. */
+    public static final float FUSE_TIME = 3.0f;
+
+    public float timer = FUSE_TIME;
+    public boolean exploded = false;
+
+    /**
+     * Burns down the fuse.
+     * @param deltaTime The time since the last update in seconds.
+     * @return True if the fuse has burnt down and the bomb should explode now.
+     */
+    public boolean burn(float deltaTime) {
+        if (exploded) {
+            return false;
+        }
+        timer -= deltaTime;
+        return timer <= 0;
+    }
+
+    @Override
+    public void reset() {
+        timer = FUSE_TIME;
+        exploded = false;
+    }
+}
@@ -0,0 +1,25 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.systems.IteratingSystem;
+import de.tum.cit.ase.bomberquest.map.BlastEngine;
+
+/**
+ * Burns down the fuses of all bombs and sets off every bomb whose fuse has run out.
+ */
+public class FuseSystem extends IteratingSystem {
+
+    private final BlastEngine blastEngine;
+
+    public FuseSystem(BlastEngine blastEngine) {
+        super(Mappers.BOMBS);
+        this.blastEngine = blastEngine;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        if (Mappers.FUSE.get(entity).burn(deltaTime)) {
+            blastEngine.detonate(entity);
+        }
+    }
+}
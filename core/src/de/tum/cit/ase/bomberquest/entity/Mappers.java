@@ -0,0 +1,29 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.ComponentMapper;
+import com.badlogic.ashley.core.Family;
+
+/**
+ * Shared component mappers and families.
+ * Looking components up through a mapper is an array access instead of a search through the entity's components.
+ */
+public final class Mappers {
+
+    public static final ComponentMapper<PositionComponent> POSITION = ComponentMapper.getFor(PositionComponent.class);
+    public static final ComponentMapper<SpriteComponent> SPRITE = ComponentMapper.getFor(SpriteComponent.class);
+    public static final ComponentMapper<BodyComponent> BODY = ComponentMapper.getFor(BodyComponent.class);
+    public static final ComponentMapper<FuseComponent> FUSE = ComponentMapper.getFor(FuseComponent.class);
+    public static final ComponentMapper<AIComponent> AI = ComponentMapper.getFor(AIComponent.class);
+
+    /** Everything that is drawn. */
+    public static final Family SPRITES = Family.all(PositionComponent.class, SpriteComponent.class).get();
+    /** Everything with a hitbox. */
+    public static final Family BODIES = Family.all(PositionComponent.class, BodyComponent.class).get();
+    /** The bombs. */
+    public static final Family BOMBS = Family.all(PositionComponent.class, FuseComponent.class).get();
+    /** The enemies. */
+    public static final Family ENEMIES = Family.all(PositionComponent.class, AIComponent.class).get();
+
+    private Mappers() {
+    }
+}
@@ -0,0 +1,32 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+import de.tum.cit.ase.bomberquest.map.SpatialIndex;
+
+/**
+ * Where an entity is on the map, in tiles.
+ * For sprites, this is the bottom left corner of the texture, see {@link de.tum.cit.ase.bomberquest.texture.Drawable}.
+ */
+public class PositionComponent implements Component, Pool.Poolable {
+
+    public float x;
+    public float y;
+    /**
+     * Where the entity was before the last step of the map, so the renderer can draw it between the two positions
+     * when frames do not line up with steps, see {@link de.tum.cit.ase.bomberquest.simulation.RenderState}.
+     */
+    public float prevX;
+    public float prevY;
+    /** The id of the entity in the spatial index of its kind, e.g. the enemy index, or {@link SpatialIndex#NONE}. */
+    public int spatialId = SpatialIndex.NONE;
+
+    @Override
+    public void reset() {
+        x = 0;
+        y = 0;
+        prevX = 0;
+        prevY = 0;
+        spatialId = SpatialIndex.NONE;
+    }
+}
@@ -0,0 +1,30 @@
+package de.tum.cit.ase.bomberquest.entity;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+import de.tum.cit.ase.bomberquest.texture.Appearance;
+
+/**
+ * How an entity is drawn.
+ * The map only stores which {@link Appearance} an entity has, the textures are only looked up when it is drawn,
+ * so the map can still be simulated without a window.
+ */
+public class SpriteComponent implements Component, Pool.Poolable {
+
+    /** Drawn first: things lying on the floor, like the exit and bombs. */
+    public static final int LAYER_GROUND = 0;
+    /** Drawn on top of the ground layer: the characters. */
+    public static final int LAYER_CHARACTERS = 1;
+
+    public Appearance appearance;
+    public int layer = LAYER_GROUND;
+    /** Hidden entities, like the exit before it is revealed, are not drawn. */
+    public boolean visible = true;
+
+    @Override
+    public void reset() {
+        appearance = null;
+        layer = LAYER_GROUND;
+        visible = true;
+    }
+}
@@ -0,0 +1,132 @@
+package de.tum.cit.ase.bomberquest.event;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Carries the {@link GameEvent}s of a match from the simulation to everyone who reacts to them,
+ * like the audio, the HUD and the renderer.
+ * <p>
+ * The simulation {@link #publish publishes} events into a ring buffer, which is allocated once and stored in
+ * primitive arrays, so publishing never allocates. Once per frame, {@link #dispatch()} hands all events
+ * since the last frame to the listeners in one batch.
+ * <p>
+ * The bus has exactly one publishing thread and one dispatching thread, which may be different threads.
+ * They only share a few counters, so the bus needs no locks. If the listeners fall so far behind that the buffer
+ * is full, new events are dropped and counted, see {@link #getDroppedCount()}, and the next dispatch tells
+ * the listeners with {@link GameEvent#EVENTS_DROPPED}, so e.g. caches can be rebuilt instead of going stale.
+ * <p>
+ * When nobody listens, e.g. in benchmarks, the bus can be {@link #setEnabled(boolean) disabled}.
+ */
+public class EventBus {
+
+    private static final GameEvent[] EVENTS = GameEvent.values();
+
+    private final int mask;
+    // The events in the buffer: which event, and where it happened
+    private final byte[] types;
+    private final int[] xs;
+    private final int[] ys;
+    /** The number of events published so far. Only written by the publishing thread. */
+    private volatile long written = 0;
+    /** The number of events dispatched so far. Only written by the dispatching thread. */
+    private volatile long read = 0;
+    private volatile long dropped = 0;
+    /** The number of dropped events the listeners have been told about. Only used by the dispatching thread. */
+    private long reportedDropped = 0;
+    /** Whether events are published at all. */
+    private boolean enabled = true;
+
+    private final Array<GameEventListener> listeners = new Array<>();
+
+    /**
+     * @param capacity How many events can wait for the next dispatch. Rounded up to a power of two.
+     */
+    public EventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive: " + capacity);
+        }
+        int size = Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = size - 1;
+        this.types = new byte[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+    }
+
+    /**
+     * Publishes an event. Must only be called from the thread that runs the simulation.
+     * @param event What happened.
+     * @param x The X coordinate of the tile where it happened.
+     * @param y The Y coordinate of the tile where it happened.
+     */
+    public void publish(GameEvent event, int x, int y) {
+        if (!enabled) {
+            return;
+        }
+        long position = written;
+        if (position - read > mask) {
+            dropped++;
+            return;
+        }
+        int slot = (int) (position & mask);
+        types[slot] = (byte) event.ordinal();
+        xs[slot] = x;
+        ys[slot] = y;
+        // Writing the counter publishes the slot to the dispatching thread
+        written = position + 1;
+    }
+
+    /**
+     * Hands every event published since the last call to all listeners.
+     * Must only be called from one thread, e.g. once per frame from the render thread.
+     * @return The number of dispatched events.
+     */
+    public int dispatch() {
+        long start = read;
+        long end = written;
+        for (long position = start; position < end; position++) {
+            int slot = (int) (position & mask);
+            GameEvent event = EVENTS[types[slot]];
+            int x = xs[slot];
+            int y = ys[slot];
+            for (int i = 0; i < listeners.size; i++) {
+                listeners.get(i).onEvent(event, x, y);
+            }
+        }
+        // Writing the counter hands the slots back to the publishing thread
+        read = end;
+        long droppedNow = dropped;
+        if (droppedNow != reportedDropped) {
+            // The events that did not fit happened after the ones above
+            reportedDropped = droppedNow;
+            for (int i = 0; i < listeners.size; i++) {
+                listeners.get(i).onEvent(GameEvent.EVENTS_DROPPED, 0, 0);
+            }
+        }
+        return (int) (end - start);
+    }
+
+    /**
+     * Starts handing events to the listener. Must be called from the dispatching thread.
+     */
+    public void subscribe(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(GameEventListener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Turns publishing on or off. A disabled bus ignores all events, so a simulation nobody listens to,
+     * e.g. in a benchmark, neither fills the buffer nor counts dropped events.
+     * Must be called before the simulation starts.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Returns the number of events that were dropped because the buffer was full. */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
@@ -0,0 +1,26 @@
+package de.tum.cit.ase.bomberquest.event;
+
+/**
+ * The things that can happen in a match that other parts of the game may want to react to.
+ * Every event happens at a tile, which is passed along with it, see {@link GameEventListener}.
+ */
+public enum GameEvent {
+
+    /** A bomb has been placed on the tile. */
+    BOMB_PLACED,
+    /** The bomb on the tile has exploded. */
+    EXPLODED,
+    /** The destructible wall on the tile has been destroyed. */
+    WALL_DESTROYED,
+    /** The exit on the tile has been revealed. */
+    EXIT_REVEALED,
+    /** The player has died on the tile. */
+    PLAYER_DIED,
+    /** The whole map has been restored from a snapshot, so anything may have changed. The tile is not used. */
+    MAP_RESTORED,
+    /**
+     * Events have been dropped because the listeners fell too far behind, see {@link EventBus#getDroppedCount()},
+     * so anything may have changed. Dispatched after the events that were kept. The tile is not used.
+     */
+    EVENTS_DROPPED
+}
@@ -0,0 +1,15 @@
+package de.tum.cit.ase.bomberquest.event;
+
+/**
+ * Receives the events of a match from an {@link EventBus}.
+ */
+public interface GameEventListener {
+
+    /**
+     * Called for every event since the last {@link EventBus#dispatch()}, in the order they happened.
+     * @param event What happened.
+     * @param x The X coordinate of the tile where it happened.
+     * @param y The Y coordinate of the tile where it happened.
+     */
+    void onEvent(GameEvent event, int x, int y);
+}
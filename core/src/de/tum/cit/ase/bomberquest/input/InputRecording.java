@@ -0,0 +1,262 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
+import de.tum.cit.ase.bomberquest.map.MapData;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Everything needed to play a session again exactly as it was played: the map, the rules, and for every match
+ * of the session its seed and the buttons of every simulation step. Since the {@link GameMap} is deterministic,
+ * feeding the buttons back through a {@link ReplayInput} reproduces the session step by step.
+ * A restarted match is {@link GameMap#reset(long) reset} in place, which reuses the physics world of the match before,
+ * so the replay resets the map after the same step instead of starting each match on a new map.
+ * <p>
+ * The buttons are stored as runs of equal steps, because they only change a few times per second.
+ * A replay file ({@code .bqreplay}) is laid out as follows, all numbers are little endian:
+ * <pre>
+ * header:  int magic "BQRP", short version, short length of the map name, map name in UTF-8,
+ *          float initial time, int blast radius, int enemy count, int number of matches
+ * matches: one entry per match: long seed, int number of steps, int number of runs, the runs of the match
+ * runs:    one run per entry: byte buttons, unsigned short run length
+ * </pre>
+ */
+public class InputRecording {
+
+    /** The file extension of replays. */
+    public static final String EXTENSION = "bqreplay";
+
+    private static final int MAGIC = 'B' | 'Q' << 8 | 'R' << 16 | 'P' << 24;
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 4 * 4;
+    private static final int MATCH_SIZE = 8 + 4 + 4;
+    private static final int RUN_SIZE = 1 + 2;
+    private static final int MAX_RUN = 0xFFFF;
+
+    private final String mapName;
+    private final GameRules rules;
+    /** The seed of each match. */
+    private final LongArray seeds = new LongArray();
+    /** The index of the first run of each match. The runs of a match end where the next match starts. */
+    private final IntArray firstRuns = new IntArray();
+    /** The number of steps of each match. */
+    private final IntArray stepCounts = new IntArray();
+    /** The buttons of each run. */
+    private final IntArray runButtons = new IntArray();
+    /** The number of steps of each run. */
+    private final IntArray runLengths = new IntArray();
+
+    /**
+     * Creates a recording whose first match has no steps yet.
+     * @param mapName The name of the map the session is played on, without file extension.
+     * @param seed The seed of the {@link GameMap}.
+     * @param rules The rules of the {@link GameMap}.
+     */
+    public InputRecording(String mapName, long seed, GameRules rules) {
+        this.mapName = mapName;
+        this.rules = rules;
+        restart(seed);
+    }
+
+    /**
+     * Appends the buttons of the next step of the current match.
+     * @param buttons The buttons, see {@link PlayerInput#poll(long)}.
+     */
+    public void append(int buttons) {
+        int last = runButtons.size - 1;
+        if (last >= firstRuns.peek() && runButtons.get(last) == buttons && runLengths.get(last) < MAX_RUN) {
+            runLengths.incr(last, 1);
+        } else {
+            runButtons.add(buttons);
+            runLengths.add(1);
+        }
+        stepCounts.incr(stepCounts.size - 1, 1);
+    }
+
+    /**
+     * Starts the next match with a new seed, e.g. because the match has been restarted.
+     * The steps of the matches before are kept, since they decide how the reset map plays out.
+     * @param seed The new seed of the {@link GameMap}, see {@link GameMap#reset(long)}.
+     */
+    public void restart(long seed) {
+        seeds.add(seed);
+        firstRuns.add(runButtons.size);
+        stepCounts.add(0);
+    }
+
+    /**
+     * Forgets all steps of the current match from the given step on, e.g. because the map has been rewound to that step.
+     * @param steps The number of steps of the current match to keep.
+     */
+    public void truncate(long steps) {
+        int match = stepCounts.size - 1;
+        while (stepCounts.get(match) > steps) {
+            int last = runButtons.size - 1;
+            int excess = (int) Math.min(stepCounts.get(match) - steps, runLengths.get(last));
+            if (excess == runLengths.get(last)) {
+                runButtons.pop();
+                runLengths.pop();
+            } else {
+                runLengths.incr(last, -excess);
+            }
+            stepCounts.incr(match, -excess);
+        }
+    }
+
+    /**
+     * Creates a map that plays the session again, with the recorded seed of the first match and the recorded rules.
+     * @param mapData The map the session was played on. It is copied and not changed.
+     * @param input Where the buttons come from, usually {@code new ReplayInput(this)}.
+     */
+    public GameMap createMap(MapData mapData, PlayerInput input) {
+        return new GameMap(mapData.copy(), seeds.first(), input, rules);
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /** Returns the number of matches, which is one more than the number of restarts. */
+    public int getMatchCount() {
+        return seeds.size;
+    }
+
+    /** Returns the seed of the given match. */
+    public long getSeed(int match) {
+        return seeds.get(match);
+    }
+
+    /** Returns the number of recorded steps of the given match. */
+    public int getStepCount(int match) {
+        return stepCounts.get(match);
+    }
+
+    /** Returns the number of recorded steps of all matches together. */
+    public long getStepCount() {
+        long steps = 0;
+        for (int match = 0; match < stepCounts.size; match++) {
+            steps += stepCounts.get(match);
+        }
+        return steps;
+    }
+
+    /** Returns the index of the first run of the given match. */
+    int getFirstRun(int match) {
+        return firstRuns.get(match);
+    }
+
+    /** Returns the index after the last run of the given match. */
+    int getEndRun(int match) {
+        return match + 1 < firstRuns.size ? firstRuns.get(match + 1) : runButtons.size;
+    }
+
+    int getRunButtons(int run) {
+        return runButtons.get(run);
+    }
+
+    int getRunLength(int run) {
+        return runLengths.get(run);
+    }
+
+    /**
+     * Reads a replay file.
+     * @param file The {@code .bqreplay} file.
+     */
+    public static InputRecording read(FileHandle file) {
+        return decode(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    /**
+     * Writes the recording to a replay file.
+     * @param file The {@code .bqreplay} file to write to.
+     */
+    public void write(FileHandle file) {
+        ByteBuffer buffer = encode();
+        file.writeBytes(buffer.array(), 0, buffer.limit(), false);
+    }
+
+    /**
+     * Encodes the recording into a heap buffer in the replay format.
+     */
+    public ByteBuffer encode() {
+        byte[] name = mapName.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + name.length + seeds.size * MATCH_SIZE
+                        + runButtons.size * RUN_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) name.length);
+        buffer.put(name);
+        buffer.putFloat(rules.getInitialTime());
+        buffer.putInt(rules.getBlastRadius());
+        buffer.putInt(rules.getEnemyCount());
+        buffer.putInt(seeds.size);
+        for (int match = 0; match < seeds.size; match++) {
+            buffer.putLong(seeds.get(match));
+            buffer.putInt(stepCounts.get(match));
+            buffer.putInt(getEndRun(match) - getFirstRun(match));
+            for (int i = getFirstRun(match); i < getEndRun(match); i++) {
+                buffer.put((byte) runButtons.get(i));
+                buffer.putShort((short) runLengths.get(i));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decodes a recording in the replay format.
+     */
+    public static InputRecording decode(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a replay");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported replay version " + version);
+        }
+        byte[] name = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(name);
+        GameRules rules = new GameRules(buffer.getFloat(), buffer.getInt(), buffer.getInt());
+        int matchCount = buffer.getInt();
+        if (matchCount < 1) {
+            throw new GdxRuntimeException("Replay has no matches");
+        }
+
+        InputRecording recording = null;
+        for (int match = 0; match < matchCount; match++) {
+            long seed = buffer.getLong();
+            int stepCount = buffer.getInt();
+            int runCount = buffer.getInt();
+            if (recording == null) {
+                recording = new InputRecording(new String(name, StandardCharsets.UTF_8), seed, rules);
+            } else {
+                recording.restart(seed);
+            }
+            recording.runButtons.ensureCapacity(runCount);
+            recording.runLengths.ensureCapacity(runCount);
+            for (int i = 0; i < runCount; i++) {
+                recording.runButtons.add(buffer.get() & 0xFF);
+                recording.runLengths.add(buffer.getShort() & 0xFFFF);
+                recording.stepCounts.incr(match, recording.runLengths.peek());
+            }
+            if (recording.stepCounts.get(match) != stepCount) {
+                throw new GdxRuntimeException("Match " + match + " of the replay has " + recording.stepCounts.get(match)
+                        + " steps, expected " + stepCount);
+            }
+        }
+        return recording;
+    }
+}
@@ -0,0 +1,37 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Reads the player's buttons from the keyboard: arrow keys to move and space to drop a bomb.
+ * When a frame runs several simulation steps, the bomb is only dropped in the first of them.
+ */
+public class KeyboardInput implements PlayerInput {
+
+    /** The frame in which the last bomb was requested, so a key press is not used twice. */
+    private long bombFrame = -1;
+
+    @Override
+    public int poll(long step) {
+        int buttons = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+            buttons |= UP;
+        } else if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+            buttons |= DOWN;
+        }
+
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            buttons |= LEFT;
+        } else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            buttons |= RIGHT;
+        }
+
+        long frame = Gdx.graphics.getFrameId();
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE) && frame != bombFrame) {
+            bombFrame = frame;
+            buttons |= BOMB;
+        }
+        return buttons;
+    }
+}
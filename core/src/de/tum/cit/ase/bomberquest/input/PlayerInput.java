@@ -0,0 +1,35 @@
+package de.tum.cit.ase.bomberquest.input;
+
+/**
+ * Tells the player what to do in each step of the simulation.
+ * The buttons of a step are packed into a single int, so inputs are cheap to store, compare and replay.
+ * The map asks for the buttons exactly once per step, in order, so implementations may keep state between steps.
+ */
+public interface PlayerInput {
+
+    int UP = 1;
+    int DOWN = 1 << 1;
+    int LEFT = 1 << 2;
+    int RIGHT = 1 << 3;
+    /** Drop a bomb in this step. Unlike the directions, this is not held down but set for a single step. */
+    int BOMB = 1 << 4;
+
+    /** An input that never presses anything. */
+    PlayerInput NONE = step -> 0;
+
+    /**
+     * Returns the buttons pressed in the given step.
+     * @param step The number of the step, counted from 0 when the map was created.
+     * @return A combination of {@link #UP}, {@link #DOWN}, {@link #LEFT}, {@link #RIGHT} and {@link #BOMB}.
+     */
+    int poll(long step);
+
+    /**
+     * Returns whether there are buttons for the given step. An input that runs out, like a replayed match,
+     * holds the map at its last step, see {@link de.tum.cit.ase.bomberquest.map.GameMap#tick(float)}.
+     * @param step The number of the next step.
+     */
+    default boolean hasStep(long step) {
+        return true;
+    }
+}
@@ -0,0 +1,36 @@
+package de.tum.cit.ase.bomberquest.input;
+
+/**
+ * Passes the buttons of another input through unchanged and appends them to an {@link InputRecording}.
+ * Recording costs next to nothing, since only the steps in which the buttons change take up memory,
+ * so every session can be recorded and saved when something goes wrong.
+ * If the map is rewound to an earlier step, e.g. with a {@link de.tum.cit.ase.bomberquest.map.SnapshotHistory},
+ * the recording is cut back to that step, so it always replays the match as it ended up being played.
+ */
+public class RecordingInput implements PlayerInput {
+
+    private final PlayerInput source;
+    private final InputRecording recording;
+
+    /**
+     * @param source Where the buttons come from, e.g. a {@link KeyboardInput}.
+     * @param recording Where the buttons of every step are appended to.
+     */
+    public RecordingInput(PlayerInput source, InputRecording recording) {
+        this.source = source;
+        this.recording = recording;
+    }
+
+    @Override
+    public int poll(long step) {
+        int buttons = source.poll(step);
+        // If the map has been rewound, the steps after it never happened
+        recording.truncate(step);
+        recording.append(buttons);
+        return buttons;
+    }
+
+    public InputRecording getRecording() {
+        return recording;
+    }
+}
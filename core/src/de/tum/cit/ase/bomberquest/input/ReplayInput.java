@@ -0,0 +1,75 @@
+package de.tum.cit.ase.bomberquest.input;
+
+/**
+ * Plays back the buttons of an {@link InputRecording}, one step after the other and one match after the other.
+ * The map does not step past the end of the current match, see {@link #hasStep(long)}, so whoever simulates the map
+ * can restart it exactly where the session restarted it, with {@link #nextMatch()}.
+ * The runs are walked with a cursor instead of being unpacked, so even long sessions replay without allocating.
+ */
+public class ReplayInput implements PlayerInput {
+
+    private final InputRecording recording;
+    /** The match that is played back. */
+    private int match = 0;
+    /** The run that contains {@link #runStart}. */
+    private int run = 0;
+    /** The first step of the current run, counted from the start of the match. */
+    private long runStart = 0;
+
+    public ReplayInput(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    @Override
+    public int poll(long step) {
+        if (step < runStart) {
+            // The map only ever moves forward, but start the match over rather than return the wrong buttons
+            run = recording.getFirstRun(match);
+            runStart = 0;
+        }
+        int endRun = recording.getEndRun(match);
+        while (run < endRun && step >= runStart + recording.getRunLength(run)) {
+            runStart += recording.getRunLength(run);
+            run++;
+        }
+        return run < endRun ? recording.getRunButtons(run) : 0;
+    }
+
+    /**
+     * Returns false once every recorded step of the current match has been played back.
+     */
+    @Override
+    public boolean hasStep(long step) {
+        return !isFinished(step);
+    }
+
+    /**
+     * Returns whether every recorded step of the current match has been played back,
+     * i.e. the map has caught up with the recording of the match.
+     * @param step The next step of the map, see {@link de.tum.cit.ase.bomberquest.map.GameMap#getStepCount()}.
+     */
+    public boolean isFinished(long step) {
+        return step >= recording.getStepCount(match);
+    }
+
+    /**
+     * Moves on to the next match of the session, if there is one.
+     * The map has to be {@link de.tum.cit.ase.bomberquest.map.GameMap#reset(long) reset} with {@link #getSeed()}
+     * before its next step.
+     * @return False if the current match was the last one.
+     */
+    public boolean nextMatch() {
+        if (match + 1 >= recording.getMatchCount()) {
+            return false;
+        }
+        match++;
+        run = recording.getFirstRun(match);
+        runStart = 0;
+        return true;
+    }
+
+    /** Returns the seed of the match that is played back. */
+    public long getSeed() {
+        return recording.getSeed(match);
+    }
+}
@@ -0,0 +1,47 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands the buttons of another input from the render thread to the thread that simulates the map.
+ * The render thread {@link #sample() samples} the source once per frame, and every step polls the last sample.
+ * The directions are held until the next sample, while a bomb is kept until a step has used it,
+ * so a key press is neither lost nor used twice, however the frames and the steps line up.
+ * This also works when both run on the same thread.
+ */
+public class SampledInput implements PlayerInput {
+
+    private static final int DIRECTIONS = UP | DOWN | LEFT | RIGHT;
+
+    private final PlayerInput source;
+    /** The buttons of the last sample, with a bomb that has not been used yet. */
+    private final AtomicInteger buttons = new AtomicInteger(0);
+
+    /**
+     * @param source Where the buttons come from, e.g. a {@link KeyboardInput}. Only polled by {@link #sample()}.
+     */
+    public SampledInput(PlayerInput source) {
+        this.source = source;
+    }
+
+    /**
+     * Reads the buttons from the source. Must be called on the thread the source belongs to, once per frame.
+     */
+    public void sample() {
+        int sampled = source.poll(-1);
+        int previous;
+        do {
+            previous = buttons.get();
+        } while (!buttons.compareAndSet(previous, (previous & BOMB) | sampled));
+    }
+
+    @Override
+    public int poll(long step) {
+        // Take the bomb, leave the directions held
+        int current;
+        do {
+            current = buttons.get();
+        } while (!buttons.compareAndSet(current, current & DIRECTIONS));
+        return current;
+    }
+}
@@ -0,0 +1,31 @@
+package de.tum.cit.ase.bomberquest.input;
+
+/**
+ * Plays back a fixed list of buttons, one entry per simulation step.
+ * Nothing is pressed once the script has run out, unless the script is looped.
+ */
+public class ScriptedInput implements PlayerInput {
+
+    private final int[] buttons;
+    private final boolean loop;
+
+    /**
+     * @param buttons The buttons for each step, see {@link PlayerInput#poll(long)}.
+     * @param loop Whether to start over from the beginning when the script has run out.
+     */
+    public ScriptedInput(int[] buttons, boolean loop) {
+        this.buttons = buttons;
+        this.loop = loop;
+    }
+
+    @Override
+    public int poll(long step) {
+        if (buttons.length == 0) {
+            return 0;
+        }
+        if (loop) {
+            return buttons[(int) (step % buttons.length)];
+        }
+        return step < buttons.length ? buttons[(int) step] : 0;
+    }
+}
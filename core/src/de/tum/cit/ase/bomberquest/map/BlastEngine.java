@@ -0,0 +1,199 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Queue;
+import de.tum.cit.ase.bomberquest.entity.AIComponent;
+import de.tum.cit.ase.bomberquest.entity.FuseComponent;
+import de.tum.cit.ase.bomberquest.entity.Mappers;
+import de.tum.cit.ase.bomberquest.entity.PositionComponent;
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+
+import java.util.Arrays;
+
+/**
+ * Spreads the explosions of bombs over the map.
+ * An explosion burns the bomb's tile and travels along the four grid axes up to the
+ * {@link GameRules#getBlastRadius() blast radius} of the match.
+ * It stops at indestructible walls, and it destroys the first destructible wall in its way, which also reveals the exit.
+ * Enemies in a burning tile take damage, and bombs in a burning tile explode in the same tick.
+ * <p>
+ * Chain reactions are handled with a queue instead of recursion, so even hundreds of bombs going off at once
+ * cannot overflow the stack. Burning tiles are marked in the {@link TileGrid} and kept in primitive arrays,
+ * so once the arrays have grown to their working size, explosions do not allocate. Every cell also knows
+ * the slot of its flame in these arrays, so a flame is found and removed in constant time.
+ */
+public class BlastEngine {
+
+    /** How long a tile keeps burning after an explosion, in seconds. */
+    public static final float FLAME_DURATION = 0.5f;
+
+    private static final int[] DIRECTIONS_X = {1, -1, 0, 0};
+    private static final int[] DIRECTIONS_Y = {0, 0, 1, -1};
+    private static final int NO_FLAME = -1;
+
+    private final GameMap map;
+    private final TileGrid tiles;
+    private final int blastRadius;
+    /** Bombs that have been set off but not processed yet. */
+    private final Queue<Entity> pending = new Queue<>(64);
+    // The burning tiles and how long each of them keeps burning
+    private final IntArray flameCells = new IntArray(256);
+    private final FloatArray flameTimes = new FloatArray(256);
+    /** The slot of each cell's flame in the arrays above, or {@link #NO_FLAME} if the cell is not burning. */
+    private final int[] flameSlots;
+
+    // Visitors are kept in fields, so querying the indices does not allocate
+    private final SpatialIndex.Visitor<Entity> chainReaction = this::detonate;
+    private final SpatialIndex.Visitor<Entity> damageEnemy = this::damage;
+
+    public BlastEngine(GameMap map) {
+        this.map = map;
+        this.tiles = map.getTileGrid();
+        this.blastRadius = map.getRules().getBlastRadius();
+        this.flameSlots = new int[tiles.getWidth() * tiles.getHeight()];
+        Arrays.fill(flameSlots, NO_FLAME);
+    }
+
+    /**
+     * Sets off a bomb and publishes the explosion. The explosion is spread when {@link #process()} is called next.
+     * @param bomb An entity with a {@link FuseComponent}.
+     * @return Always true, so this can be used as a {@link SpatialIndex.Visitor}.
+     */
+    public boolean detonate(Entity bomb) {
+        FuseComponent fuse = Mappers.FUSE.get(bomb);
+        if (!fuse.exploded) {
+            fuse.exploded = true;
+            PositionComponent position = Mappers.POSITION.get(bomb);
+            map.getEvents().publish(GameEvent.EXPLODED, (int) position.x, (int) position.y);
+            pending.addLast(bomb);
+        }
+        return true;
+    }
+
+    /**
+     * Hits an enemy with an explosion and removes it from the map once it has no health left.
+     * @return Always true, so this can be used as a {@link SpatialIndex.Visitor}.
+     */
+    private boolean damage(Entity enemy) {
+        AIComponent ai = Mappers.AI.get(enemy);
+        ai.health--;
+        if (ai.health <= 0) {
+            map.removeEnemy(enemy);
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the explosions of all bombs that were set off, including the bombs they set off in turn.
+     */
+    public void process() {
+        while (pending.notEmpty()) {
+            PositionComponent bomb = Mappers.POSITION.get(pending.removeFirst());
+            int bombX = (int) bomb.x;
+            int bombY = (int) bomb.y;
+            ignite(bombX, bombY);
+
+            for (int direction = 0; direction < DIRECTIONS_X.length; direction++) {
+                for (int distance = 1; distance <= blastRadius; distance++) {
+                    int x = bombX + DIRECTIONS_X[direction] * distance;
+                    int y = bombY + DIRECTIONS_Y[direction] * distance;
+                    if (!tiles.contains(x, y) || tiles.getType(x, y) == TileGrid.INDESTRUCTIBLE_WALL) {
+                        break;
+                    }
+                    if (tiles.isDestructible(x, y)) {
+                        // The wall takes the blast, the explosion does not travel any further
+                        map.destroyWall(x, y);
+                        ignite(x, y);
+                        break;
+                    }
+                    ignite(x, y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lets the burning tiles burn down.
+     * @param frameTime The time since the last update in seconds.
+     */
+    public void update(float frameTime) {
+        int width = tiles.getWidth();
+        for (int i = flameCells.size - 1; i >= 0; i--) {
+            float time = flameTimes.get(i) - frameTime;
+            if (time > 0) {
+                flameTimes.set(i, time);
+                continue;
+            }
+            int cell = flameCells.get(i);
+            tiles.setBurning(cell % width, cell / width, false);
+            flameSlots[cell] = NO_FLAME;
+            // Swap the last flame into this slot, the order of the flames does not matter
+            int last = flameCells.pop();
+            float lastTime = flameTimes.pop();
+            if (i < flameCells.size) {
+                flameCells.set(i, last);
+                flameTimes.set(i, lastTime);
+                flameSlots[last] = i;
+            }
+        }
+    }
+
+    /**
+     * Checks if an explosion is burning at the given position.
+     */
+    public boolean isBurning(float x, float y) {
+        return tiles.isBurning(Math.round(x), Math.round(y));
+    }
+
+    /**
+     * Returns the number of tiles that are currently burning.
+     */
+    public int getFlameCount() {
+        return flameCells.size;
+    }
+
+    int getFlameCell(int i) {
+        return flameCells.get(i);
+    }
+
+    float getFlameTime(int i) {
+        return flameTimes.get(i);
+    }
+
+    /**
+     * Replaces all burning tiles, e.g. when a snapshot is restored.
+     * Only the timers are kept here, the tiles themselves must already be marked as burning in the grid.
+     */
+    void clearFlames() {
+        for (int i = 0; i < flameCells.size; i++) {
+            flameSlots[flameCells.get(i)] = NO_FLAME;
+        }
+        flameCells.clear();
+        flameTimes.clear();
+    }
+
+    void addFlame(int cell, float time) {
+        flameSlots[cell] = flameCells.size;
+        flameCells.add(cell);
+        flameTimes.add(time);
+    }
+
+    /**
+     * Sets the tile on fire, damaging enemies in it and setting off the bombs in it.
+     */
+    private void ignite(int x, int y) {
+        int cell = tiles.index(x, y);
+        int slot = flameSlots[cell];
+        if (slot != NO_FLAME) {
+            // Already burning, just make the flame last longer
+            flameTimes.set(slot, FLAME_DURATION);
+        } else {
+            tiles.setBurning(x, y, true);
+            addFlame(cell, FLAME_DURATION);
+        }
+        map.getEnemyIndex().forEachInTile(x, y, damageEnemy);
+        map.getBombIndex().forEachInTile(x, y, chainReaction);
+    }
+}
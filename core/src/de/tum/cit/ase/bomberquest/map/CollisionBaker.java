@@ -0,0 +1,111 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.FixtureDef;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+
+import java.util.Arrays;
+
+/**
+ * Turns the walls of a region of the map into as few Box2D fixtures as possible.
+ * Neighbouring walls of the same type are merged into rectangles: first a run of walls is grown along the row,
+ * then the run is grown upwards as long as the rows above are walls as well.
+ * A straight border wall of 16 tiles therefore becomes a single fixture instead of 16.
+ * Paths never get a fixture.
+ */
+public class CollisionBaker {
+
+    /** Which cells of the region have already been put into a rectangle. */
+    private final boolean[] baked;
+    private final int maxSize;
+    private final PolygonShape shape = new PolygonShape();
+    private final FixtureDef fixtureDef = new FixtureDef();
+    private final Vector2 center = new Vector2();
+
+    /**
+     * @param maxSize The maximum width and height of the regions that will be baked.
+     */
+    public CollisionBaker(int maxSize) {
+        this.maxSize = maxSize;
+        this.baked = new boolean[maxSize * maxSize];
+        fixtureDef.shape = shape;
+        fixtureDef.density = 0.0f;
+        fixtureDef.friction = 0.5f;
+        fixtureDef.restitution = 0.1f;
+    }
+
+    /**
+     * Adds merged box fixtures for all standing walls of the given type in a region to the body.
+     * The body is expected to sit at the origin of the world.
+     * @param body The body to add the fixtures to.
+     * @param tiles The tiles of the map.
+     * @param startX The left edge of the region (inclusive).
+     * @param startY The bottom edge of the region (inclusive).
+     * @param endX The right edge of the region (exclusive).
+     * @param endY The top edge of the region (exclusive).
+     * @param type The wall type to bake, {@link TileGrid#INDESTRUCTIBLE_WALL} or {@link TileGrid#DESTRUCTIBLE_WALL}.
+     * @return The number of fixtures created.
+     */
+    public int bake(Body body, TileGrid tiles, int startX, int startY, int endX, int endY, int type) {
+        int width = endX - startX;
+        int height = endY - startY;
+        if (width > maxSize || height > maxSize) {
+            throw new IllegalArgumentException("Region is larger than " + maxSize + "x" + maxSize);
+        }
+        Arrays.fill(baked, false);
+
+        int fixtures = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!isBakeable(tiles, startX, startY, x, y, type)) {
+                    continue;
+                }
+                // Grow the rectangle to the right as far as possible
+                int runWidth = 1;
+                while (x + runWidth < width && isBakeable(tiles, startX, startY, x + runWidth, y, type)) {
+                    runWidth++;
+                }
+                // Then grow it upwards as long as the whole run is covered by walls
+                int runHeight = 1;
+                while (y + runHeight < height && isRowBakeable(tiles, startX, startY, x, y + runHeight, runWidth, type)) {
+                    runHeight++;
+                }
+                for (int dy = 0; dy < runHeight; dy++) {
+                    for (int dx = 0; dx < runWidth; dx++) {
+                        baked[(y + dy) * maxSize + x + dx] = true;
+                    }
+                }
+
+                // Tiles are centered on their coordinates, so a rectangle starts half a tile before its first tile
+                center.set(startX + x - 0.5f + runWidth / 2f, startY + y - 0.5f + runHeight / 2f);
+                shape.setAsBox(runWidth / 2f, runHeight / 2f, center, 0);
+                body.createFixture(fixtureDef);
+                fixtures++;
+            }
+        }
+        return fixtures;
+    }
+
+    private boolean isRowBakeable(TileGrid tiles, int startX, int startY, int x, int y, int runWidth, int type) {
+        for (int dx = 0; dx < runWidth; dx++) {
+            if (!isBakeable(tiles, startX, startY, x + dx, y, type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBakeable(TileGrid tiles, int startX, int startY, int x, int y, int type) {
+        return !baked[y * maxSize + x]
+                && tiles.isSolid(startX + x, startY + y)
+                && tiles.getType(startX + x, startY + y) == type;
+    }
+
+    /**
+     * Frees the native shape used for baking.
+     */
+    public void dispose() {
+        shape.dispose();
+    }
+}
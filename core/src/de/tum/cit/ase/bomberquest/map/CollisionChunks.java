@@ -0,0 +1,219 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
+
+/**
+ * Creates the Box2D bodies of the walls lazily, one chunk of the map at a time.
+ * The map is split into square chunks of {@link #CHUNK_SIZE} tiles. A chunk only gets a body while something
+ * that needs physics is close to it, e.g. the player, an enemy or a bomb. Bodies of chunks that are far away
+ * from everything are destroyed again, so the number of bodies stays the same no matter how big the map is.
+ * <p>
+ * Every frame, the map calls {@link #beginUpdate()}, then {@link #require(float, float)} for each position that
+ * needs collision and finally {@link #endUpdate()}, which creates and destroys the chunk bodies.
+ * <p>
+ * The walls of a chunk are merged into large rectangles by the {@link CollisionBaker}. Indestructible and
+ * destructible walls go into two separate bodies, so destroying a wall only re-bakes the destructible walls of one chunk.
+ * Changed chunks are re-baked by the next {@link #endUpdate()}, so a chain reaction that destroys
+ * many walls of a chunk, or a reset that puts them all back, bakes each chunk only once.
+ */
+public class CollisionChunks {
+
+    /** The width and height of a chunk in tiles. */
+    public static final int CHUNK_SIZE = 16;
+    /** Chunks up to this many chunks away from a required position get a body. */
+    private static final int CREATE_RADIUS = 1;
+    /**
+     * Chunks keep their body until they are further away than this.
+     * This is larger than {@link #CREATE_RADIUS}, so walking along a chunk border does not create and destroy bodies every frame.
+     */
+    private static final int KEEP_RADIUS = 2;
+
+    private final World world;
+    private final TileGrid tiles;
+    private final int chunksX;
+    private final int chunksY;
+    /** Whether each chunk currently has its bodies. */
+    private final boolean[] materialized;
+    /** The body holding the indestructible walls of each chunk, or null if there are none. */
+    private final Body[] staticBodies;
+    /** The body holding the destructible walls of each chunk, or null if there are none left. */
+    private final Body[] breakableBodies;
+    /** Whether the destructible walls of each chunk have changed since its body was baked. */
+    private final boolean[] dirty;
+    /** The update in which each chunk was last required within {@link #CREATE_RADIUS}. */
+    private final int[] createStamps;
+    /** The update in which each chunk was last required within {@link #KEEP_RADIUS}. */
+    private final int[] keepStamps;
+    /** Number of the current update, used instead of clearing the stamp arrays every frame. */
+    private int stamp = 0;
+    private int bodyCount = 0;
+    private int fixtureCount = 0;
+    private final CollisionBaker baker = new CollisionBaker(CHUNK_SIZE);
+    private final BodyDef bodyDef = new BodyDef();
+
+    public CollisionChunks(World world, TileGrid tiles) {
+        this.world = world;
+        this.tiles = tiles;
+        this.chunksX = (tiles.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (tiles.getHeight() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.materialized = new boolean[chunksX * chunksY];
+        this.staticBodies = new Body[materialized.length];
+        this.breakableBodies = new Body[materialized.length];
+        this.dirty = new boolean[materialized.length];
+        this.createStamps = new int[materialized.length];
+        this.keepStamps = new int[materialized.length];
+        this.bodyDef.type = BodyDef.BodyType.StaticBody;
+    }
+
+    /**
+     * Starts a new update. All positions that need collision must be passed to {@link #require(float, float)} afterwards.
+     */
+    public void beginUpdate() {
+        stamp++;
+    }
+
+    /**
+     * Marks the chunks around the given position as needed in this update.
+     * @param x The x-coordinate in tiles.
+     * @param y The y-coordinate in tiles.
+     */
+    public void require(float x, float y) {
+        int chunkX = MathUtils.clamp(MathUtils.floor(x + 0.5f) / CHUNK_SIZE, 0, chunksX - 1);
+        int chunkY = MathUtils.clamp(MathUtils.floor(y + 0.5f) / CHUNK_SIZE, 0, chunksY - 1);
+        for (int cy = Math.max(0, chunkY - KEEP_RADIUS); cy <= Math.min(chunksY - 1, chunkY + KEEP_RADIUS); cy++) {
+            for (int cx = Math.max(0, chunkX - KEEP_RADIUS); cx <= Math.min(chunksX - 1, chunkX + KEEP_RADIUS); cx++) {
+                int chunk = cy * chunksX + cx;
+                keepStamps[chunk] = stamp;
+                if (Math.abs(cx - chunkX) <= CREATE_RADIUS && Math.abs(cy - chunkY) <= CREATE_RADIUS) {
+                    createStamps[chunk] = stamp;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finishes the update: creates bodies for newly needed chunks, re-bakes the destructible walls of changed chunks
+     * and destroys bodies of chunks that are no longer needed.
+     */
+    public void endUpdate() {
+        for (int chunk = 0; chunk < materialized.length; chunk++) {
+            if (!materialized[chunk]) {
+                if (createStamps[chunk] == stamp) {
+                    materialize(chunk);
+                }
+            } else if (keepStamps[chunk] != stamp) {
+                release(chunk);
+            } else if (dirty[chunk]) {
+                breakableBodies[chunk] = destroyBody(breakableBodies[chunk]);
+                breakableBodies[chunk] = bake(chunk, TileGrid.DESTRUCTIBLE_WALL);
+                dirty[chunk] = false;
+            }
+        }
+    }
+
+    /**
+     * Must be called when a destructible wall at the given position has changed, e.g. when it was destroyed.
+     * If the chunk of the tile currently has bodies, its destructible walls are re-baked by the next {@link #endUpdate()}.
+     * The indestructible walls of the chunk are left alone.
+     */
+    public void invalidate(int x, int y) {
+        int chunk = (y / CHUNK_SIZE) * chunksX + x / CHUNK_SIZE;
+        if (materialized[chunk]) {
+            dirty[chunk] = true;
+        }
+    }
+
+    /**
+     * Must be called when destructible walls anywhere on the map have changed, e.g. when a snapshot has been restored.
+     * The destructible walls of all chunks that currently have bodies are re-baked by the next {@link #endUpdate()},
+     * the indestructible walls never change and are left alone.
+     */
+    public void invalidateAll() {
+        for (int chunk = 0; chunk < materialized.length; chunk++) {
+            dirty[chunk] = materialized[chunk];
+        }
+    }
+
+    /**
+     * Destroys the bodies of all chunks.
+     */
+    public void releaseAll() {
+        for (int chunk = 0; chunk < materialized.length; chunk++) {
+            if (materialized[chunk]) {
+                release(chunk);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of wall bodies that currently exist.
+     */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /**
+     * Returns the number of wall fixtures that currently exist.
+     */
+    public int getFixtureCount() {
+        return fixtureCount;
+    }
+
+    private void materialize(int chunk) {
+        staticBodies[chunk] = bake(chunk, TileGrid.INDESTRUCTIBLE_WALL);
+        breakableBodies[chunk] = bake(chunk, TileGrid.DESTRUCTIBLE_WALL);
+        materialized[chunk] = true;
+    }
+
+    private void release(int chunk) {
+        staticBodies[chunk] = destroyBody(staticBodies[chunk]);
+        breakableBodies[chunk] = destroyBody(breakableBodies[chunk]);
+        materialized[chunk] = false;
+        dirty[chunk] = false;
+    }
+
+    /**
+     * Creates a static body with merged fixtures for all walls of the given type in the chunk.
+     * @return The body, or null if the chunk has no such walls.
+     */
+    private Body bake(int chunk, int type) {
+        int startX = (chunk % chunksX) * CHUNK_SIZE;
+        int startY = (chunk / chunksX) * CHUNK_SIZE;
+        int endX = Math.min(startX + CHUNK_SIZE, tiles.getWidth());
+        int endY = Math.min(startY + CHUNK_SIZE, tiles.getHeight());
+
+        Body body = world.createBody(bodyDef);
+        int fixtures = baker.bake(body, tiles, startX, startY, endX, endY, type);
+        if (fixtures == 0) {
+            world.destroyBody(body);
+            return null;
+        }
+        body.setUserData(this);
+        bodyCount++;
+        fixtureCount += fixtures;
+        return body;
+    }
+
+    /**
+     * Destroys the body if there is one.
+     * @return Always null, so the result can be assigned to the field that held the body.
+     */
+    private Body destroyBody(Body body) {
+        if (body != null) {
+            bodyCount--;
+            fixtureCount -= body.getFixtureList().size;
+            world.destroyBody(body);
+        }
+        return null;
+    }
+
+    /**
+     * Frees the native resources of the baker. The bodies themselves are owned by the world.
+     */
+    public void dispose() {
+        baker.dispose();
+    }
+}
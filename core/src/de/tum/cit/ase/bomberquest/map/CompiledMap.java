@@ -0,0 +1,148 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the compiled binary map format ({@code .bqmap}).
+ * A compiled map is laid out as follows, all numbers are little endian:
+ * <pre>
+ * header:       int magic "BQMP", short version, short reserved,
+ *               int width, int height, int entrance cell, int number of entities
+ * tile plane:   one byte per cell, row by row
+ * entity table: one entity per entry: byte kind, int cell
+ * </pre>
+ * The tile plane stores the raw {@link TileGrid} cells exactly as the grid keeps them in memory,
+ * so reading a map copies the whole plane into the grid at once instead of decoding it cell by cell.
+ * Use {@link MapCompiler} to turn {@code .properties} maps into compiled maps.
+ */
+public class CompiledMap {
+
+    /** The file extension of compiled maps. */
+    public static final String EXTENSION = "bqmap";
+
+    private static final int MAGIC = 'B' | 'Q' << 8 | 'M' << 16 | 'P' << 24;
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 4 * 4;
+    private static final int ENTITY_SIZE = 1 + 4;
+
+    // Kinds of entries in the entity table
+    private static final byte ENTITY_EXIT = 1;
+    private static final byte ENTITY_ENEMY = 2;
+    private static final byte ENTITY_POWER_UP = 3;
+
+    private CompiledMap() {
+    }
+
+    /**
+     * Opens a compiled map.
+     * If the map is a real file on disk, it is memory-mapped instead of being read into the heap.
+     * @param file The {@code .bqmap} file.
+     * @return The map, ready to be handed to {@link GameMap}.
+     */
+    public static MapData read(FileHandle file) {
+        if (file.type() != Files.FileType.Classpath && file.file().isFile()) {
+            try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+                return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Could not map compiled map " + file.name(), e);
+            }
+        }
+        // Maps packed into a jar cannot be mapped, so read them into memory instead
+        return decode(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    /**
+     * Writes a map in the compiled format.
+     * @param map The map to write.
+     * @param file The {@code .bqmap} file to write to.
+     */
+    public static void write(MapData map, FileHandle file) {
+        ByteBuffer buffer = encode(map);
+        file.writeBytes(buffer.array(), 0, buffer.limit(), false);
+    }
+
+    /**
+     * Encodes a map into a heap buffer in the compiled format.
+     */
+    public static ByteBuffer encode(MapData map) {
+        TileGrid tiles = map.getTiles();
+        int cellCount = tiles.getWidth() * tiles.getHeight();
+        int entityCount = map.getExits().size + map.getEnemies().size + map.getPowerUps().size;
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + cellCount + entityCount * ENTITY_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) 0);
+        buffer.putInt(tiles.getWidth());
+        buffer.putInt(tiles.getHeight());
+        buffer.putInt(map.getEntrance());
+        buffer.putInt(entityCount);
+
+        // Tile plane
+        tiles.writeCells(buffer);
+
+        // Entity table
+        putEntities(buffer, ENTITY_EXIT, map.getExits());
+        putEntities(buffer, ENTITY_ENEMY, map.getEnemies());
+        putEntities(buffer, ENTITY_POWER_UP, map.getPowerUps());
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decodes a map in the compiled format.
+     * The tile plane is copied into the grid in one bulk copy, only the few entities are read one by one.
+     */
+    public static MapData decode(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled map");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported compiled map version " + version);
+        }
+        buffer.getShort(); // reserved
+        int width = buffer.getInt();
+        int height = buffer.getInt();
+        int entrance = buffer.getInt();
+        int entityCount = buffer.getInt();
+        if (width <= 0 || height <= 0 || (long) width * height + (long) entityCount * ENTITY_SIZE > buffer.remaining()) {
+            throw new GdxRuntimeException("Compiled map of " + width + " x " + height + " tiles is cut off");
+        }
+
+        MapData map = new MapData(new TileGrid(width, height));
+        map.setEntrance(entrance);
+        map.getTiles().copyCells(buffer);
+
+        for (int i = 0; i < entityCount; i++) {
+            byte kind = buffer.get();
+            int cell = buffer.getInt();
+            switch (kind) {
+                case ENTITY_EXIT -> map.getExits().add(cell);
+                case ENTITY_ENEMY -> map.getEnemies().add(cell);
+                case ENTITY_POWER_UP -> map.getPowerUps().add(cell);
+                default -> throw new GdxRuntimeException("Unknown entity kind " + kind + " in compiled map");
+            }
+        }
+        return map;
+    }
+
+    private static void putEntities(ByteBuffer buffer, byte kind, IntArray cells) {
+        for (int i = 0; i < cells.size; i++) {
+            buffer.put(kind);
+            buffer.putInt(cells.get(i));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A map of walking distances to the player, shared by all enemies.
+ * The distances are computed with a breadth-first search over the {@link TileGrid}, starting at the player's tile.
+ * An enemy only has to look at the distances of its neighbouring tiles to know which way leads to the player,
+ * so hundreds of enemies cost no more than a single search per update.
+ * <p>
+ * The field is only recomputed when the player enters another tile. When a wall is destroyed,
+ * the new path through it is added incrementally instead. The search stops after {@link #maxDistance} steps,
+ * so the cost of an update does not grow with the size of the map.
+ */
+public class FlowField {
+
+    /** Distance of tiles the player cannot be reached from, or which are too far away. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final TileGrid tiles;
+    private final int maxDistance;
+    private final int[] distances;
+    /** The search in which each distance was written. Distances from older searches are treated as unreachable. */
+    private final int[] stamps;
+    /** Queue of the breadth-first search, used as a ring buffer. */
+    private final int[] queue;
+    private int stamp = 0;
+    private int targetX = -1;
+    private int targetY = -1;
+
+    /**
+     * @param tiles The tiles to search through.
+     * @param maxDistance The number of steps after which the search stops.
+     */
+    public FlowField(TileGrid tiles, int maxDistance) {
+        this.tiles = tiles;
+        this.maxDistance = maxDistance;
+        int cellCount = tiles.getWidth() * tiles.getHeight();
+        this.distances = new int[cellCount];
+        this.stamps = new int[cellCount];
+        this.queue = new int[cellCount];
+    }
+
+    /**
+     * Moves the target of the field to the given position.
+     * Nothing is recomputed unless the position is in another tile than before.
+     */
+    public void update(float x, float y) {
+        int tileX = MathUtils.round(x);
+        int tileY = MathUtils.round(y);
+        if (tileX == targetX && tileY == targetY) {
+            return;
+        }
+        targetX = tileX;
+        targetY = tileY;
+        recompute();
+    }
+
+    /**
+     * Recomputes the whole field from the current target.
+     */
+    public void recompute() {
+        // Starting a new search invalidates all old distances at once, without clearing the arrays
+        stamp++;
+        if (!tiles.contains(targetX, targetY)) {
+            return;
+        }
+        int start = tiles.index(targetX, targetY);
+        distances[start] = 0;
+        stamps[start] = stamp;
+        queue[0] = start;
+        search(0, 1);
+    }
+
+    /**
+     * Forgets the target, so the next {@link #update(float, float)} recomputes the whole field.
+     * Must be called when walls have been put back, e.g. when the map has been restored from a snapshot.
+     */
+    public void invalidate() {
+        targetX = -1;
+        targetY = -1;
+    }
+
+    /**
+     * Must be called when a wall has been destroyed.
+     * Enemies may now be able to walk through the tile, so the distances are extended from the tile outwards.
+     */
+    public void onWallDestroyed(int x, int y) {
+        int cell = tiles.index(x, y);
+        int best = UNREACHABLE;
+        best = Math.min(best, getDistance(x - 1, y));
+        best = Math.min(best, getDistance(x + 1, y));
+        best = Math.min(best, getDistance(x, y - 1));
+        best = Math.min(best, getDistance(x, y + 1));
+        if (best >= maxDistance) {
+            // The tile is not next to anything that can reach the player
+            return;
+        }
+        distances[cell] = best + 1;
+        stamps[cell] = stamp;
+        queue[0] = cell;
+        search(0, 1);
+    }
+
+    /**
+     * Returns the number of steps from the given tile to the player.
+     * @return The distance, or {@link #UNREACHABLE}.
+     */
+    public int getDistance(int x, int y) {
+        if (!tiles.contains(x, y)) {
+            return UNREACHABLE;
+        }
+        int cell = tiles.index(x, y);
+        return stamps[cell] == stamp ? distances[cell] : UNREACHABLE;
+    }
+
+    /**
+     * Finds the neighbouring tile that brings an enemy in the given tile closer to the player.
+     * @return The {@link TileGrid#index(int, int) cell index} of the neighbour, or -1 if there is no way to the player.
+     */
+    public int nextStep(int x, int y) {
+        int current = getDistance(x, y);
+        if (current == UNREACHABLE || current == 0) {
+            return -1;
+        }
+        int best = -1;
+        int bestDistance = current;
+        // Neighbours in a fixed order, so all enemies in the same tile make the same choice
+        for (int i = 0; i < 4; i++) {
+            int nx = x + (i == 0 ? 1 : i == 1 ? -1 : 0);
+            int ny = y + (i == 2 ? 1 : i == 3 ? -1 : 0);
+            int distance = getDistance(nx, ny);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = tiles.index(nx, ny);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Runs the breadth-first search on the cells in the queue between head and tail.
+     * A cell is (re)visited if it was not reached in this search yet or if a shorter way to it was found.
+     */
+    private void search(int head, int tail) {
+        int width = tiles.getWidth();
+        int length = queue.length;
+        int queued = tail - head;
+        while (queued > 0) {
+            int cell = queue[head];
+            head = (head + 1) % length;
+            queued--;
+
+            int distance = distances[cell] + 1;
+            if (distance > maxDistance) {
+                continue;
+            }
+            int x = cell % width;
+            int y = cell / width;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + (i == 0 ? 1 : i == 1 ? -1 : 0);
+                int ny = y + (i == 2 ? 1 : i == 3 ? -1 : 0);
+                if (tiles.isSolid(nx, ny)) {
+                    continue;
+                }
+                int neighbour = ny * width + nx;
+                if (stamps[neighbour] != stamp || distances[neighbour] > distance) {
+                    distances[neighbour] = distance;
+                    stamps[neighbour] = stamp;
+                    queue[tail] = neighbour;
+                    tail = (tail + 1) % length;
+                    queued++;
+                }
+            }
+        }
+    }
+}
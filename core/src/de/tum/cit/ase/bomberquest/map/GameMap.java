@@ -1,81 +1,243 @@
 package de.tum.cit.ase.bomberquest.map;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.World;
-import de.tum.cit.ase.bomberquest.BomberQuestGame;
-import de.tum.cit.ase.bomberquest.texture.Bomb;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.ase.bomberquest.entity.BodySystem;
+import de.tum.cit.ase.bomberquest.entity.EnemySystem;
+import de.tum.cit.ase.bomberquest.entity.EntityFactory;
+import de.tum.cit.ase.bomberquest.entity.FuseSystem;
+import de.tum.cit.ase.bomberquest.entity.Mappers;
+import de.tum.cit.ase.bomberquest.entity.PositionComponent;
+import de.tum.cit.ase.bomberquest.event.EventBus;
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
 
 /**
  * Represents the game map.
  * Holds all the objects and entities in the game.
+ * <p>
+ * The map does not depend on the game, the screens or any textures, so it can also be simulated without a window.
+ * The simulation advances in fixed steps, gets its buttons from a {@link PlayerInput}
+ * and draws all random numbers from its own seeded generator,
+ * so the same map, seed and inputs always play out exactly the same.
+ * <p>
+ * Everything on the map that is not a tile is an entity in an Ashley {@link PooledEngine}:
+ * the player, the enemies, the bombs and the exit are made of the components in the
+ * {@link de.tum.cit.ase.bomberquest.entity} package, and systems update whole families of them at once.
+ * The systems are updated by {@link #step()} in a fixed order, together with the parts of the simulation
+ * that are not entities, like the explosions and the physics world.
+ * {@link PooledEngine#update(float)} is never called: the engine only stores the entities and their families,
+ * and each system is stepped by hand at its place in {@link #step()}, which the engine's priorities could not express
+ * for the work in between them.
+ * <p>
+ * The map does not play sounds or update the screen itself. It publishes what happens on its {@link EventBus},
+ * and the audio, the HUD and the renderer react to the events once per frame.
  */
 public class GameMap {
 
-    // Box2D physics simulation parameters
-    private static final float TIME_STEP = 1f / 60f;
-    private static final int VELOCITY_ITERATIONS = 6;
-    private static final int POSITION_ITERATIONS = 2;
+    // Box2D physics simulation parameters, the whole simulation advances in steps of this length
+    public static final float TIME_STEP = 1f / 60f;
+    public static final int VELOCITY_ITERATIONS = 6;
+    public static final int POSITION_ITERATIONS = 2;
     private float physicsTime = 0;
+    /** The number of steps simulated so far. */
+    private long stepCount = 0;
 
-    private final BomberQuestGame game;
     private final World world;
+    /** Where the player's buttons come from. */
+    private final PlayerInput input;
+    /** The source of all randomness in the simulation. */
+    private final RandomXS128 random;
 
     // Game objects
+    /** All entities on the map. Entities and components are pooled, so bombs and enemies can come and go without allocating. */
+    private final PooledEngine engine = new PooledEngine(64, 4096, 64, 4096);
+    private final EntityFactory entities = new EntityFactory(engine);
+    private final EnemySystem enemySystem;
+    private final FuseSystem fuseSystem;
+    private final BodySystem bodySystem = new BodySystem();
+    private final ImmutableArray<Entity> enemies = engine.getEntitiesFor(Mappers.ENEMIES);
+    private final ImmutableArray<Entity> bombs = engine.getEntitiesFor(Mappers.BOMBS);
+    private final ImmutableArray<Entity> sprites = engine.getEntitiesFor(Mappers.SPRITES);
     private final Player player;
-    private final Chest chest;
-    private final Flowers[][] flowers;
-    private WallPath[][] tiles;
-    private static final int MAP_WIDTH = 10;
-    private static final int MAP_HEIGHT = 10;
+    private final TileGrid tiles;
+    /** The map the match is played on, kept to put the enemies back when the match is {@link #reset(long) reset}. */
+    private final MapData mapData;
+    /** The tiles as they were before anything happened, to put them back when the match is reset. */
+    private final TileGrid pristineTiles;
+    /** The cells the exit can be hidden under if the map file does not place it: destructible walls away from the edges. */
+    private final IntArray exitCandidates = new IntArray();
+    /** Creates the wall bodies around the player, enemies and bombs on demand. */
+    private final CollisionChunks collision;
     private final Vector2 entrance;
-    private Exit exit;
+    /** The exit, which is hidden under a wall until that wall is destroyed. */
+    private Entity exit;
+    private boolean exitRevealed = false;
     private float countdownTime;
     private boolean isGameOver = false;  // Track if the game is over
-    private float initialTime = 300f;
-    private List<Enemy> enemies;
+    private final float initialTime;
+    private boolean isWon = false;
+    private final GameRules rules;
+
+    // Spatial indices answering "what is in this tile" and "what is near this position" without scanning the families
+    private final SpatialIndex<Entity> enemyIndex;
+    private final SpatialIndex<Entity> bombIndex;
+
+    /** Randomly placed enemies keep at least this many tiles away from the entrance. */
+    private static final int SAFE_SPAWN_DISTANCE = 3;
+    /** How often a free tile for a random enemy is looked for before giving up. */
+    private static final int MAX_SPAWN_ATTEMPTS = 10_000;
+
+    /** How many steps away from the player enemies can still find their way to them. */
+    private static final int CHASE_DISTANCE = 64;
+    /** The way to the player, shared by all enemies. */
+    private final FlowField flowField;
+    /** Spreads the explosions of bombs over the map. */
+    private final BlastEngine blastEngine;
+    /** How many events can happen between two frames before events are dropped. */
+    private static final int EVENT_CAPACITY = 1024;
+    /** Tells the rest of the game what happens on the map. */
+    private final EventBus events = new EventBus(EVENT_CAPACITY);
 
-    // List to store bombs in the game world
-    private List<Bomb> bombs = new ArrayList<>();
 
+    /**
+     * Creates the map from the contents of a map file with the {@link GameRules#DEFAULT default rules}.
+     * @param mapData The loaded map file, see {@link MapLoader}.
+     * @param seed The seed for all random decisions, like where enemies wander and where the exit is hidden.
+     * @param input Where the player's buttons come from.
+     */
+    public GameMap(MapData mapData, long seed, PlayerInput input) {
+        this(mapData, seed, input, GameRules.DEFAULT);
+    }
 
-    public GameMap(BomberQuestGame game) {
-        this.game = game;
+    /**
+     * Creates the map from the contents of a map file.
+     * The map plays on the tiles of the map data, so use a {@link MapData#copy() copy} to play the same map twice.
+     * @param mapData The loaded map file, see {@link MapLoader}.
+     * @param seed The seed for all random decisions, like where enemies wander and where the exit is hidden.
+     * @param input Where the player's buttons come from.
+     * @param rules The rules of the match.
+     */
+    public GameMap(MapData mapData, long seed, PlayerInput input, GameRules rules) {
+        this.input = input;
+        this.rules = rules;
+        this.random = new RandomXS128(seed);
         this.world = new World(Vector2.Zero, true);
-        this.enemies = new ArrayList<>();
-        this.enemies.add(new Enemy(world, game, 3, 4));
-        this.enemies.add(new Enemy(world, game, 5, 5));
+        this.mapData = mapData;
+        this.tiles = mapData.getTiles();
+        this.pristineTiles = tiles.copy();
 
-        // Create a player with initial position (1, 3)
-        //this.player = new Player(this.world, 1, 3, this);
+        this.enemyIndex = new SpatialIndex<>(tiles.getWidth(), tiles.getHeight());
+        this.bombIndex = new SpatialIndex<>(tiles.getWidth(), tiles.getHeight());
 
-        // Create a chest in the middle of the map
-        this.chest = new Chest(world, 3, 3);
-        this.entrance = new Vector2(1, 1); // Example spawn point
-        //this.exit = new Exit(this.world, entrance.x, entrance.y);
+        if (mapData.getEntrance() < 0) {
+            throw new IllegalArgumentException("The map has no entrance");
+        }
+        this.entrance = new Vector2(mapData.getX(mapData.getEntrance()), mapData.getY(mapData.getEntrance()));
+        spawnEnemies(mapData);
+        this.initialTime = rules.getInitialTime();
         this.countdownTime = initialTime;
-        this.player = new Player(world, game.getMap(), entrance.x, entrance.y);
+        this.player = new Player(world, this, (int) entrance.x, (int) entrance.y);
+        engine.addEntity(entities.createPlayer(player.getHitbox()));
+
+        this.collision = new CollisionChunks(world, tiles);
+        this.flowField = new FlowField(tiles, CHASE_DISTANCE);
+        this.blastEngine = new BlastEngine(this);
+        this.fuseSystem = new FuseSystem(blastEngine);
+        this.enemySystem = new EnemySystem(this);
+        engine.addSystem(fuseSystem);
+        engine.addSystem(enemySystem);
+        engine.addSystem(bodySystem);
+        findExitCandidates();
+        placeExit();
+        updateCollision();
+    }
 
-        // Create flowers in a 7x7 grid
-        this.flowers = new Flowers[7][7];
-        for (int i = 0; i < flowers.length; i++) {
-            for (int j = 0; j < flowers[i].length; j++) {
-                this.flowers[i][j] = new Flowers(i, j);
+    /**
+     * Starts the match over with a new seed, as if the map had just been created.
+     * The map is reset in place: the physics world, the wall bodies, the tile storage and the entity pools are reused,
+     * and only the destructible walls of the chunks where walls have been destroyed are baked again.
+     * The random decisions are made in the same order as by the constructor, the bodies are created again in the same
+     * order, and the player's hitbox loses its contacts and its spin like a new one, so the match starts in the same
+     * state as on a new map with the same seed.
+     * Box2D still remembers which proxies it has handed out before, so when the player touches two walls at once,
+     * it may resolve them in a different order than on a new map. A recording therefore replays a restarted match
+     * by resetting the map after the same step, see {@link de.tum.cit.ase.bomberquest.input.InputRecording}.
+     * @param seed The seed for all random decisions, like where enemies wander and where the exit is hidden.
+     */
+    public void reset(long seed) {
+        random.setSeed(seed);
+        invalidateChangedWalls();
+        tiles.copyFrom(pristineTiles);
+        blastEngine.clearFlames();
+        removeEnemiesAndBombs();
+        // Hand out the ids from the start again, so the entities are visited in the same order as on a new map
+        enemyIndex.clear();
+        bombIndex.clear();
+        spawnEnemies(mapData);
+        player.respawn(entrance.x, entrance.y);
+        placeExit();
+        restoreState(0, 0, initialTime, false, false, false);
+        finishRestore(false);
+    }
+
+    /**
+     * Marks the chunks of all walls that have been destroyed since the match started, so their bodies are baked again.
+     */
+    private void invalidateChangedWalls() {
+        int width = tiles.getWidth();
+        for (int cell = 0; cell < width * tiles.getHeight(); cell++) {
+            if (TileGrid.isSolidCell(tiles.getCell(cell)) != TileGrid.isSolidCell(pristineTiles.getCell(cell))) {
+                collision.invalidate(cell % width, cell / width);
             }
         }
-        initializeTiles();
-        initializeExit();
     }
 
 
-    // Updates the game state. This is called once per frame.
-    // Every dynamic object in the game should update its state here.
+    /**
+     * Advances the game by the time since the last frame.
+     * This runs as many fixed steps as fit into the elapsed time, the rest is carried over to the next frame.
+     * The map waits at its last step while the input has no buttons for the next one, see {@link PlayerInput#hasStep(long)}.
+     * @param frameTime Time since last frame in seconds
+     */
     public void tick(float frameTime) {
+        this.physicsTime += frameTime;
+        while (this.physicsTime >= TIME_STEP) {
+            if (!input.hasStep(stepCount)) {
+                // Show the last step, and do not pile up time that would be simulated all at once later
+                this.physicsTime = TIME_STEP;
+                return;
+            }
+            step();
+            this.physicsTime -= TIME_STEP;
+        }
+    }
+
+    /**
+     * Returns whether the input has buttons for the next step, see {@link PlayerInput#hasStep(long)}.
+     * Only a replay runs out of buttons, at the end of each match.
+     */
+    public boolean canStep() {
+        return input.hasStep(stepCount);
+    }
+
+    /**
+     * Advances the game by exactly one {@link #TIME_STEP}.
+     * Every dynamic object in the game should update its state here.
+     * A headless simulation can call this directly instead of {@link #tick(float)}.
+     */
+    public void step() {
+        float frameTime = TIME_STEP;
+        int buttons = input.poll(stepCount);
+        stepCount++;
+        rememberPositions();
+
         if (!isGameOver) {
             countdownTime -= frameTime;
             if (countdownTime <= 0) {
@@ -84,24 +246,80 @@ public void tick(float frameTime) {
             }
         }
 
-        this.player.tick(frameTime);
-        for (Enemy enemy : enemies) {
-            enemy.tick(frameTime);
+        // Burn down the fuses, set off every bomb whose fuse has run out and spread the explosions,
+        // including all bombs that are set off by other explosions in this tick
+        blastEngine.update(frameTime);
+        fuseSystem.update(frameTime);
+        blastEngine.process();
+        recycleExplodedBombs();
+
+        this.player.tick(frameTime, buttons);
+        checkMatchOver();
+        flowField.update(player.getX(), player.getY());
+        enemySystem.update(frameTime);
+        updateCollision();
+        this.world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
+        bodySystem.update(frameTime);
+    }
+
+    /**
+     * Keeps where everything that is drawn was before this step, so the renderer can interpolate.
+     */
+    private void rememberPositions() {
+        for (int i = 0; i < sprites.size(); i++) {
+            PositionComponent position = Mappers.POSITION.get(sprites.get(i));
+            position.prevX = position.x;
+            position.prevY = position.y;
+        }
+    }
+
+    /**
+     * Ends the match when the player has died, or has reached the revealed exit after defeating all enemies.
+     */
+    private void checkMatchOver() {
+        if (isGameOver) {
+            return;
+        }
+        if (player.isDead()) {
+            isGameOver = true;
+            events.publish(GameEvent.PLAYER_DIED, MathUtils.round(player.getX()), MathUtils.round(player.getY()));
+        } else if (exitRevealed && enemies.size() == 0
+                && MathUtils.round(player.getX()) == (int) Mappers.POSITION.get(exit).x
+                && MathUtils.round(player.getY()) == (int) Mappers.POSITION.get(exit).y) {
+            isWon = true;
+            isGameOver = true;
         }
-        doPhysicsStep(frameTime);
     }
 
     /**
-     * Performs as many physics steps as necessary to catch up to the given frame time.
-     * This will update the Box2D world by the given time step.
-     *
-     * @param frameTime Time since last frame in seconds
+     * Makes sure the walls around everything that moves have bodies, and releases the bodies of walls far away.
      */
-    private void doPhysicsStep(float frameTime) {
-        this.physicsTime += frameTime;
-        while (this.physicsTime >= TIME_STEP) {
-            this.world.step(TIME_STEP, VELOCITY_ITERATIONS, POSITION_ITERATIONS);
-            this.physicsTime -= TIME_STEP;
+    private void updateCollision() {
+        collision.beginUpdate();
+        collision.require(player.getX(), player.getY());
+        for (int i = 0; i < enemies.size(); i++) {
+            PositionComponent enemy = Mappers.POSITION.get(enemies.get(i));
+            collision.require(enemy.x, enemy.y);
+        }
+        for (int i = 0; i < bombs.size(); i++) {
+            PositionComponent bomb = Mappers.POSITION.get(bombs.get(i));
+            collision.require(bomb.x, bomb.y);
+        }
+        collision.endUpdate();
+    }
+
+    /**
+     * Removes the bombs that have exploded from the map, which puts them back into the pools of the engine.
+     * The flames are tracked by the {@link BlastEngine}, so the bombs are not needed any more once they went off.
+     */
+    private void recycleExplodedBombs() {
+        // Backwards, because removing a bomb shifts the bombs after it
+        for (int i = bombs.size() - 1; i >= 0; i--) {
+            Entity bomb = bombs.get(i);
+            if (Mappers.FUSE.get(bomb).exploded) {
+                bombIndex.remove(Mappers.POSITION.get(bomb).spatialId);
+                engine.removeEntity(bomb);
+            }
         }
     }
 
@@ -113,102 +331,240 @@ public Player getPlayer() {
     }
 
     /**
-     * Returns the chest on the map.
+     * Places the enemies of the map file. If the rules ask for a different number of enemies,
+     * only the first ones are used, or the missing ones are placed at random on free tiles away from the entrance.
+     */
+    private void spawnEnemies(MapData mapData) {
+        int count = rules.getEnemyCount() < 0 ? mapData.getEnemies().size : rules.getEnemyCount();
+        for (int i = 0; i < count && i < mapData.getEnemies().size; i++) {
+            int cell = mapData.getEnemies().get(i);
+            addEnemy(mapData.getX(cell), mapData.getY(cell));
+        }
+        int attempts = 0;
+        while (enemies.size() < count && attempts++ < MAX_SPAWN_ATTEMPTS) {
+            int x = random.nextInt(tiles.getWidth());
+            int y = random.nextInt(tiles.getHeight());
+            if (!tiles.isSolid(x, y) && Math.abs(x - entrance.x) + Math.abs(y - entrance.y) > SAFE_SPAWN_DISTANCE) {
+                addEnemy(x, y);
+            }
+        }
+    }
+
+    Entity addEnemy(float x, float y) {
+        Entity enemy = entities.createEnemy(x, y);
+        Mappers.POSITION.get(enemy).spatialId = enemyIndex.add(enemy, x, y);
+        engine.addEntity(enemy);
+        return enemy;
+    }
+
+    /**
+     * Collects the destructible walls away from the edges once, so hiding the exit is a single random pick.
+     */
+    private void findExitCandidates() {
+        for (int y = 1; y < tiles.getHeight() - 1; y++) {
+            for (int x = 1; x < tiles.getWidth() - 1; x++) {
+                if (tiles.isDestructible(x, y)) {
+                    exitCandidates.add(tiles.index(x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Places the exit where the map file says, or otherwise hides it under a random destructible wall.
      */
-    public Chest getChest() {
-        return chest;
+    private void placeExit() {
+        int cell;
+        if (mapData.getExits().notEmpty()) {
+            // Use the exit from the map file if there is one
+            cell = mapData.getExits().first();
+        } else {
+            if (exitCandidates.isEmpty()) {
+                throw new IllegalArgumentException("The map has no exit and no destructible wall to hide it under");
+            }
+            cell = exitCandidates.get(random.nextInt(exitCandidates.size));
+            tiles.setCell(cell, tiles.getCell(cell) | TileGrid.EXIT);
+        }
+        moveExit(cell);
     }
 
     /**
-     * Returns the flowers on the map.
+     * Moves the exit to the given cell, creating it the first time.
+     * The exit flag of the tile is not changed.
      */
-    public List<Flowers> getFlowers() {
-        return Arrays.stream(flowers).flatMap(Arrays::stream).toList();
+    void moveExit(int cell) {
+        int x = cell % tiles.getWidth();
+        int y = cell / tiles.getWidth();
+        if (exit == null) {
+            this.exit = entities.createExit(x, y);
+            engine.addEntity(exit);
+        } else {
+            PositionComponent position = Mappers.POSITION.get(exit);
+            position.x = x;
+            position.y = y;
+        }
     }
 
-    private void initializeTiles() {
-        int rows = 7;
-        int cols = 7;
-        tiles = new WallPath[rows][cols];
+    /** Returns the cell of the exit, see {@link TileGrid#index(int, int)}. */
+    int getExitCell() {
+        PositionComponent position = Mappers.POSITION.get(exit);
+        return tiles.index((int) position.x, (int) position.y);
+    }
 
-        TextureRegion destructibleTexture = game.getAssetManager().get("destructible.png", TextureRegion.class);
-        TextureRegion indestructibleTexture = game.getAssetManager().get("indestructible.png", TextureRegion.class);
-        TextureRegion pathTexture = game.getAssetManager().get("path.png", TextureRegion.class);
+    /**
+     * Destroys the destructible wall at the given position and removes it from the physics world.
+     * Reveals the exit if it was hidden under the wall.
+     * @return True if a wall was destroyed.
+     */
+    public boolean destroyWall(int x, int y) {
+        if (!tiles.destroy(x, y)) {
+            return false;
+        }
+        collision.invalidate(x, y);
+        flowField.onWallDestroyed(x, y);
+        events.publish(GameEvent.WALL_DESTROYED, x, y);
+        if (tiles.hasExit(x, y)) {
+            exitRevealed = true;
+            Mappers.SPRITE.get(exit).visible = true;
+            events.publish(GameEvent.EXIT_REVEALED, x, y);
+        }
+        return true;
+    }
 
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                // Indestructible walls at borders
-                if (row == 0 || col == 0 || row == rows - 1 || col == cols - 1) {
-                    tiles[row][col] = new WallPath(world, row, col, false, indestructibleTexture);
-                }
-                // Destructible walls at alternate positions
-                else if ((row + col) % 2 == 0) {
-                    tiles[row][col] = new WallPath(world, row, col, true, destructibleTexture);
-                }
-                // Paths
-                else {
-                    tiles[row][col] = new WallPath(world, row, col, false, pathTexture);
-                }
-            }
+    /**
+     * Places a bomb at the given tile.
+     * There can only be one bomb in a tile, and bombs cannot be placed into walls.
+     * @return The placed bomb, or null if no bomb could be placed there.
+     */
+    public Entity placeBomb(int x, int y) {
+        if (tiles.isSolid(x, y) || bombIndex.first(x, y) != null) {
+            return null;
         }
+        Entity bomb = addBomb(x, y);
+        events.publish(GameEvent.BOMB_PLACED, x, y);
+        return bomb;
     }
 
-    private void initializeExit() {
-        // Randomly place the exit under a destructible wall
-        int x, y;
-        TextureRegion exitTexture = game.getAssetManager().get("exit.png", TextureRegion.class);
+    Entity addBomb(int x, int y) {
+        Entity bomb = entities.createBomb(x, y);
+        Mappers.POSITION.get(bomb).spatialId = bombIndex.add(bomb, x, y);
+        engine.addEntity(bomb);
+        return bomb;
+    }
+
+    /**
+     * Removes all enemies and bombs, so they can be put back from a snapshot.
+     * Nothing is published, the entities simply vanish.
+     */
+    void removeEnemiesAndBombs() {
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            removeEnemy(enemies.get(i));
+        }
+        for (int i = bombs.size() - 1; i >= 0; i--) {
+            Entity bomb = bombs.get(i);
+            bombIndex.remove(Mappers.POSITION.get(bomb).spatialId);
+            engine.removeEntity(bomb);
+        }
+    }
 
-        do {
-            x = (int) (Math.random() * (MAP_WIDTH - 2)) + 1; // Avoid edges
-            y = (int) (Math.random() * (MAP_HEIGHT - 2)) + 1;
-        } while (!(tiles[x][y].isDestructible())); // Place exit under a destructible wall
+    /**
+     * Sets the clock and the outcome of the match, e.g. when a snapshot is restored.
+     */
+    void restoreState(long stepCount, float physicsTime, float countdownTime,
+                      boolean gameOver, boolean won, boolean exitRevealed) {
+        this.stepCount = stepCount;
+        this.physicsTime = physicsTime;
+        this.countdownTime = countdownTime;
+        this.isGameOver = gameOver;
+        this.isWon = won;
+        this.exitRevealed = exitRevealed;
+        Mappers.SPRITE.get(exit).visible = exitRevealed;
+    }
 
-        this.exit = new Exit(world, x, y, exitTexture);
+    /**
+     * Brings everything that is derived from the tiles and the entities up to date after a snapshot has been restored,
+     * and tells the listeners that anything may have changed.
+     * @param wallsChanged Whether walls have appeared or disappeared, so their bodies have to be baked again.
+     */
+    void finishRestore(boolean wallsChanged) {
+        if (wallsChanged) {
+            collision.invalidateAll();
+        }
+        flowField.invalidate();
+        updateCollision();
+        bodySystem.update(0);
+        // Everything jumps to where it was, instead of sliding there
+        rememberPositions();
+        events.publish(GameEvent.MAP_RESTORED, 0, 0);
     }
 
-    // Add a bomb to the game world
-    public void addBomb(Bomb bomb) {
-        bombs.add(bomb);
+    /** Returns everything on the map that is drawn. The array is updated as entities come and go. */
+    public ImmutableArray<Entity> getSprites() {
+        return sprites;
     }
 
-    // Get all bombs in the game world
-    public List<Bomb> getBombs() {
+    /** Returns the bombs on the map. The array is updated as bombs are placed and explode. */
+    public ImmutableArray<Entity> getBombs() {
         return bombs;
     }
 
-    // Get all tiles
-    public List<WallPath> getTiles() {
-        List<WallPath> allTiles = new ArrayList<>();
-        for (WallPath[] row : tiles) {
-            for (WallPath tile : row) {
-                allTiles.add(tile);
-            }
-        }
-        return allTiles;
+    /**
+     * Returns the tile storage of the map.
+     * Use this for anything that runs every frame, it never allocates.
+     */
+    public TileGrid getTileGrid() {
+        return tiles;
+    }
+
+    /**
+     * Returns a view of the tile at the given position.
+     */
+    public WallPath getTile(int x, int y) {
+        return new WallPath(tiles, x, y);
     }
 
     public float getRemainingTime() {
         return countdownTime;
     }
-    public void removeEnemy(Enemy enemy) {
-        enemies.remove(enemy);
+    /**
+     * Removes a dead enemy from the map.
+     */
+    public void removeEnemy(Entity enemy) {
+        PositionComponent position = Mappers.POSITION.get(enemy);
+        if (position.spatialId != SpatialIndex.NONE) {
+            enemyIndex.remove(position.spatialId);
+            position.spatialId = SpatialIndex.NONE;
+            engine.removeEntity(enemy);
+        }
     }
-    public Exit getExit() {
-        return exit;
+
+    /** Returns true once the wall above the exit has been destroyed. */
+    public boolean isExitRevealed() {
+        return exitRevealed;
     }
 
     public float getPhysicsTime() {
         return physicsTime;
     }
 
-    public BomberQuestGame getGame() {
-        return game;
+    /** Returns the number of steps simulated so far. */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /** Returns the random generator all random decisions in the simulation must use. */
+    public RandomXS128 getRandom() {
+        return random;
     }
 
     public World getWorld() {
         return world;
     }
 
+    public CollisionChunks getCollision() {
+        return collision;
+    }
+
     public Vector2 getEntrance() {
         return entrance;
     }
@@ -225,7 +581,57 @@ public float getInitialTime() {
         return initialTime;
     }
 
-    public List<Enemy> getEnemies() {
+    /** Returns true if the player has reached the exit after defeating all enemies. */
+    public boolean isWon() {
+        return isWon;
+    }
+
+    /** Returns the rules this match is played with. */
+    public GameRules getRules() {
+        return rules;
+    }
+
+    /** Returns the enemies on the map. The array is updated as enemies die. */
+    public ImmutableArray<Entity> getEnemies() {
         return enemies;
     }
+
+    /** Returns the engine that holds all entities on the map. */
+    public PooledEngine getEngine() {
+        return engine;
+    }
+
+    /** Returns the distances to the player that enemies use to find their way. */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /** Returns the engine that spreads explosions over the map. */
+    public BlastEngine getBlastEngine() {
+        return blastEngine;
+    }
+
+    /** Returns the index of all enemies by tile. */
+    public SpatialIndex<Entity> getEnemyIndex() {
+        return enemyIndex;
+    }
+
+    /** Returns the bus the map publishes everything that happens on it to. */
+    public EventBus getEvents() {
+        return events;
+    }
+
+    /** Returns the index of all bombs by tile. */
+    public SpatialIndex<Entity> getBombIndex() {
+        return bombIndex;
+    }
+
+    /**
+     * Frees the physics world and everything in it.
+     */
+    public void dispose() {
+        engine.removeAllEntities();
+        collision.dispose();
+        world.dispose();
+    }
 }
@@ -0,0 +1,53 @@
+package de.tum.cit.ase.bomberquest.map;
+
+/**
+ * The tunable rules of a match, so matches can be balanced without touching the map files.
+ */
+public class GameRules {
+
+    /** How far the explosion of a bomb spreads with the default rules. */
+    public static final int DEFAULT_BLAST_RADIUS = 2;
+
+    /** The rules of a normal game: the enemies from the map file, 300 seconds and the normal blast radius. */
+    public static final GameRules DEFAULT = new GameRules(300f, DEFAULT_BLAST_RADIUS, -1);
+
+    private final float initialTime;
+    private final int blastRadius;
+    private final int enemyCount;
+
+    /**
+     * @param initialTime The countdown at the start of the match, in seconds.
+     * @param blastRadius How many tiles an explosion spreads in each direction.
+     * @param enemyCount The number of enemies, or -1 to use the enemies placed in the map file.
+     *                   Missing enemies are placed at random on free tiles away from the entrance.
+     */
+    public GameRules(float initialTime, int blastRadius, int enemyCount) {
+        if (initialTime <= 0 || blastRadius < 0) {
+            throw new IllegalArgumentException("Invalid rules: time " + initialTime + ", blast radius " + blastRadius);
+        }
+        this.initialTime = initialTime;
+        this.blastRadius = blastRadius;
+        this.enemyCount = enemyCount;
+    }
+
+    public float getInitialTime() {
+        return initialTime;
+    }
+
+    public int getBlastRadius() {
+        return blastRadius;
+    }
+
+    /**
+     * Returns the number of enemies, or -1 if the enemies of the map file are used.
+     */
+    public int getEnemyCount() {
+        return enemyCount;
+    }
+
+    @Override
+    public String toString() {
+        return "time " + initialTime + "s, blast radius " + blastRadius
+                + ", enemies " + (enemyCount < 0 ? "from map" : enemyCount);
+    }
+}
@@ -0,0 +1,51 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.File;
+
+/**
+ * Converts {@code .properties} maps into compiled {@code .bqmap} maps.
+ * Every compiled map is read back and compared with its source, so a compiled map never differs from the map it was built from.
+ * This runs as part of the build, see the {@code compileMaps} task in {@code core/build.gradle}.
+ */
+public class MapCompiler {
+
+    private MapCompiler() {
+    }
+
+    /**
+     * Compiles all maps of a directory.
+     * @param args The directory containing the {@code .properties} maps and the directory to write the compiled maps to.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: MapCompiler <source directory> <target directory>");
+            System.exit(1);
+        }
+        FileHandle sourceDir = new FileHandle(new File(args[0]));
+        FileHandle targetDir = new FileHandle(new File(args[1]));
+        targetDir.mkdirs();
+
+        for (FileHandle source : sourceDir.list(".properties")) {
+            FileHandle target = targetDir.child(source.nameWithoutExtension() + "." + CompiledMap.EXTENSION);
+            compile(source, target);
+            System.out.println("Compiled " + source.name() + " to " + target.path() + " (" + target.length() + " bytes)");
+        }
+    }
+
+    /**
+     * Compiles a single map and checks that the compiled map matches the source map.
+     * @param source The {@code .properties} map.
+     * @param target The {@code .bqmap} file to write.
+     * @throws GdxRuntimeException if the compiled map does not match the source.
+     */
+    public static void compile(FileHandle source, FileHandle target) {
+        MapData map = MapLoader.load(source);
+        CompiledMap.write(map, target);
+        if (!map.contentEquals(CompiledMap.read(target))) {
+            throw new GdxRuntimeException("Compiled map " + target.name() + " does not match " + source.name());
+        }
+    }
+}
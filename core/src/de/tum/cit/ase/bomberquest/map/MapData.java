@@ -0,0 +1,84 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The contents of a map file: the tile grid plus the positions of everything that is not a tile.
+ * All positions are stored as {@link TileGrid#index(int, int) cell indices} in primitive arrays,
+ * use {@link #getX(int)} and {@link #getY(int)} to turn them back into coordinates.
+ */
+public class MapData {
+
+    private final TileGrid tiles;
+    private int entrance = -1;
+    private final IntArray exits = new IntArray();
+    private final IntArray enemies = new IntArray();
+    private final IntArray powerUps = new IntArray();
+
+    public MapData(TileGrid tiles) {
+        this.tiles = tiles;
+    }
+
+    public TileGrid getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Returns the cell index of the entrance, or -1 if the map has none.
+     */
+    public int getEntrance() {
+        return entrance;
+    }
+
+    public void setEntrance(int entrance) {
+        this.entrance = entrance;
+    }
+
+    /** Returns the cell indices of all exits placed in the map file. Most maps leave this empty. */
+    public IntArray getExits() {
+        return exits;
+    }
+
+    /** Returns the cell indices of all enemy spawn points. */
+    public IntArray getEnemies() {
+        return enemies;
+    }
+
+    /** Returns the cell indices of all hidden power-ups. The kind is stored in the {@link TileGrid}. */
+    public IntArray getPowerUps() {
+        return powerUps;
+    }
+
+    /**
+     * Returns a deep copy of the map, which can be played without changing this one.
+     */
+    public MapData copy() {
+        MapData copy = new MapData(tiles.copy());
+        copy.entrance = entrance;
+        copy.exits.addAll(exits);
+        copy.enemies.addAll(enemies);
+        copy.powerUps.addAll(powerUps);
+        return copy;
+    }
+
+    /**
+     * Checks if the other map has the same tiles, entrance and entities in the same order.
+     */
+    public boolean contentEquals(MapData other) {
+        return tiles.contentEquals(other.tiles)
+                && entrance == other.entrance
+                && exits.equals(other.exits)
+                && enemies.equals(other.enemies)
+                && powerUps.equals(other.powerUps);
+    }
+
+    /** Returns the x-coordinate of a cell index. */
+    public int getX(int cell) {
+        return cell % tiles.getWidth();
+    }
+
+    /** Returns the y-coordinate of a cell index. */
+    public int getY(int cell) {
+        return cell / tiles.getWidth();
+    }
+}
@@ -0,0 +1,46 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Lets an {@link AssetManager} load maps, so reading a map does not block the render thread.
+ * Compiled {@code .bqmap} files are read with {@link CompiledMap}, everything else with {@link MapLoader}.
+ * Both happen in {@link #loadAsync}, which the asset manager runs on its loader thread.
+ */
+public class MapDataLoader extends AsynchronousAssetLoader<MapData, MapDataLoader.MapDataParameter> {
+
+    /** The map read by the last call to {@link #loadAsync}, handed out by {@link #loadSync}. */
+    private MapData mapData;
+
+    public MapDataLoader(FileHandleResolver resolver) {
+        super(resolver);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, MapDataParameter parameter) {
+        mapData = CompiledMap.EXTENSION.equals(file.extension()) ? CompiledMap.read(file) : MapLoader.load(file);
+    }
+
+    @Override
+    public MapData loadSync(AssetManager manager, String fileName, FileHandle file, MapDataParameter parameter) {
+        MapData loaded = mapData;
+        mapData = null;
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, MapDataParameter parameter) {
+        return null;
+    }
+
+    /** Maps have no loading options. */
+    public static class MapDataParameter extends AssetLoaderParameters<MapData> {
+    }
+}
@@ -0,0 +1,188 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads maps from the {@code maps/*.properties} format.
+ * Every line of such a file has the form {@code x,y=type}, lines starting with {@code #} or {@code !} are comments.
+ * <p>
+ * The file is streamed twice: the first pass only finds the size of the map, the second pass writes
+ * every entry straight into a {@link TileGrid}. No line is ever turned into a String, so loading
+ * needs little more memory than the grid itself.
+ * We deliberately don't use {@link java.util.Properties}, which would keep every line as a String key in a Hashtable.
+ */
+public class MapLoader {
+
+    // The tile types used in the map files
+    public static final int FILE_INDESTRUCTIBLE_WALL = 0;
+    public static final int FILE_DESTRUCTIBLE_WALL = 1;
+    public static final int FILE_ENTRANCE = 2;
+    public static final int FILE_ENEMY = 3;
+    public static final int FILE_EXIT = 4;
+    public static final int FILE_BOMB_POWER_UP = 5;
+    public static final int FILE_BLAST_POWER_UP = 6;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Upper bound for the number of cells, so a broken file cannot make us allocate a huge grid.
+     * This allows 4096 x 4096 tiles, or a long and narrow map of the same area, in a grid of 16 MB.
+     */
+    private static final int MAX_CELLS = 1 << 24;
+
+    private MapLoader() {
+    }
+
+    /**
+     * Loads a map file.
+     * @param file The map file in the {@code .properties} format.
+     * @return The loaded map.
+     * @throws GdxRuntimeException if the file cannot be read or contains an invalid line.
+     */
+    public static MapData load(FileHandle file) {
+        // First pass: find out how big the map is
+        int[] max = {-1, -1};
+        parse(file, (x, y, type) -> {
+            max[0] = Math.max(max[0], x);
+            max[1] = Math.max(max[1], y);
+        });
+        if (max[0] < 0) {
+            throw new GdxRuntimeException("Map file " + file.name() + " is empty");
+        }
+        if ((long) (max[0] + 1) * (max[1] + 1) > MAX_CELLS) {
+            throw new GdxRuntimeException("Map file " + file.name() + " is too large: "
+                    + (max[0] + 1) + " x " + (max[1] + 1) + " tiles");
+        }
+
+        // Second pass: fill the grid
+        MapData map = new MapData(new TileGrid(max[0] + 1, max[1] + 1));
+        parse(file, (x, y, type) -> apply(map, x, y, type));
+        return map;
+    }
+
+    /**
+     * Writes a single entry of the map file into the map.
+     */
+    private static void apply(MapData map, int x, int y, int type) {
+        TileGrid tiles = map.getTiles();
+        int cell = tiles.index(x, y);
+        switch (type) {
+            case FILE_INDESTRUCTIBLE_WALL -> tiles.set(x, y, TileGrid.INDESTRUCTIBLE_WALL);
+            case FILE_DESTRUCTIBLE_WALL -> tiles.set(x, y, TileGrid.DESTRUCTIBLE_WALL);
+            case FILE_ENTRANCE -> {
+                if (map.getEntrance() >= 0) {
+                    throw new GdxRuntimeException("Second entrance at " + x + "," + y + ", the first one is at "
+                            + map.getX(map.getEntrance()) + "," + map.getY(map.getEntrance()));
+                }
+                map.setEntrance(cell);
+            }
+            case FILE_ENEMY -> map.getEnemies().add(cell);
+            case FILE_EXIT -> {
+                // The exit is always hidden under a destructible wall
+                tiles.set(x, y, TileGrid.DESTRUCTIBLE_WALL | TileGrid.EXIT);
+                map.getExits().add(cell);
+            }
+            case FILE_BOMB_POWER_UP, FILE_BLAST_POWER_UP -> {
+                // Power-ups are hidden under destructible walls as well
+                tiles.set(x, y, TileGrid.DESTRUCTIBLE_WALL);
+                tiles.setPowerUp(x, y, type == FILE_BOMB_POWER_UP ? TileGrid.BOMB_POWER_UP : TileGrid.BLAST_POWER_UP);
+                map.getPowerUps().add(cell);
+            }
+            default -> throw new GdxRuntimeException("Unknown tile type " + type + " at " + x + "," + y);
+        }
+    }
+
+    /** Receives the entries of a map file one by one. */
+    private interface EntryHandler {
+        void entry(int x, int y, int type);
+    }
+
+    /**
+     * Streams through the map file byte by byte and reports every {@code x,y=type} entry to the handler.
+     */
+    private static void parse(FileHandle file, EntryHandler handler) {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        // The three numbers of the current line: x, y and type
+        int[] values = new int[3];
+        int field = 0;
+        boolean inNumber = false;
+        boolean numberDone = false;
+        boolean blank = true;
+        boolean comment = false;
+        int line = 1;
+
+        try (InputStream in = file.read()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n' || b == '\r') {
+                        if (!blank && !comment) {
+                            if (field != 2 || !inNumber && !numberDone) {
+                                throw invalidLine(file, line);
+                            }
+                            handler.entry(values[0], values[1], values[2]);
+                        }
+                        if (b == '\n') {
+                            line++;
+                        }
+                        values[0] = values[1] = values[2] = 0;
+                        field = 0;
+                        inNumber = numberDone = comment = false;
+                        blank = true;
+                        continue;
+                    }
+                    if (comment) {
+                        continue;
+                    }
+                    if (b == ' ' || b == '\t') {
+                        // Whitespace is allowed around the separators, but not inside a number
+                        if (inNumber) {
+                            inNumber = false;
+                            numberDone = true;
+                        }
+                        continue;
+                    }
+                    if (blank && (b == '#' || b == '!')) {
+                        comment = true;
+                        continue;
+                    }
+                    blank = false;
+                    if (b >= '0' && b <= '9') {
+                        // No coordinate can be larger than the number of cells, which also keeps the int from overflowing
+                        if (numberDone || values[field] >= MAX_CELLS) {
+                            throw invalidLine(file, line);
+                        }
+                        values[field] = values[field] * 10 + (b - '0');
+                        inNumber = true;
+                    } else if (b == ',' && field == 0 && (inNumber || numberDone)) {
+                        field = 1;
+                        inNumber = numberDone = false;
+                    } else if ((b == '=' || b == ':') && field == 1 && (inNumber || numberDone)) {
+                        field = 2;
+                        inNumber = numberDone = false;
+                    } else {
+                        throw invalidLine(file, line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read map file " + file.name(), e);
+        }
+
+        // The last line may not end with a line break
+        if (!blank && !comment) {
+            if (field != 2 || !inNumber && !numberDone) {
+                throw invalidLine(file, line);
+            }
+            handler.entry(values[0], values[1], values[2]);
+        }
+    }
+
+    private static GdxRuntimeException invalidLine(FileHandle file, int line) {
+        return new GdxRuntimeException("Invalid map entry in " + file.name() + " at line " + line);
+    }
+}
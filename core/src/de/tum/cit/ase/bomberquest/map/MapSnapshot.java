@@ -0,0 +1,321 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.entity.AIComponent;
+import de.tum.cit.ase.bomberquest.entity.Mappers;
+import de.tum.cit.ase.bomberquest.entity.PositionComponent;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Saves the state of a running {@link GameMap} into a compact binary snapshot and restores it in place.
+ * Restoring reuses the map's physics world, entity pools and tile storage,
+ * so it is much faster than building a new map, and snapshots can be taken and restored while playing.
+ * <p>
+ * There are two kinds of snapshots. A keyframe holds every tile. A delta only holds the tiles that differ
+ * from a given keyframe and can only be restored together with it. The clock, the player, the enemies, the bombs
+ * and the flames change in every step and are small, so both kinds hold all of them.
+ * Snapshots are laid out as follows, all numbers are little endian:
+ * <pre>
+ * header:  int magic "BQSN", short version, byte kind, byte flags,
+ *          long step, float physics time, float countdown, long random state 0, long random state 1,
+ *          float player x, float player y, float player x velocity, float player y velocity,
+ *          int width, int height, int exit cell, int number of tile entries, int number of enemies,
+ *          int number of bombs, int number of flames
+ * tiles:   keyframe: one byte per cell, row by row; delta: one entry per changed cell: int cell, byte value
+ * enemies: float x, float y, float move speed, int health
+ * bombs:   int cell, float fuse timer
+ * flames:  int cell, float time left
+ * </pre>
+ * The physics world keeps no state between steps besides the player's hitbox, so restoring a snapshot continues
+ * the match as it was, except that Box2D has to find the contacts of the player with the walls again.
+ * The events that were published but not dispatched yet are not part of a snapshot.
+ */
+public class MapSnapshot {
+
+    private static final int MAGIC = 'B' | 'Q' << 8 | 'S' << 16 | 'N' << 24;
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 2 + 1 + 1 + 8 + 4 + 4 + 8 + 8 + 4 * 4 + 4 * 7;
+    private static final int DELTA_TILE_SIZE = 4 + 1;
+    private static final int ENEMY_SIZE = 4 + 4 + 4 + 4;
+    private static final int BOMB_SIZE = 4 + 4;
+    private static final int FLAME_SIZE = 4 + 4;
+
+    // Kinds of snapshots
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+
+    // Flags in the header
+    private static final int GAME_OVER = 1;
+    private static final int WON = 1 << 1;
+    private static final int EXIT_REVEALED = 1 << 2;
+    private static final int PLAYER_DEAD = 1 << 3;
+
+    // Where the counts and the tiles start in the header
+    private static final int TILE_COUNT_OFFSET = HEADER_SIZE - 4 * 4;
+
+    private MapSnapshot() {
+    }
+
+    /**
+     * Takes a keyframe of the map.
+     * @param map The map.
+     * @param buffer A buffer from an earlier snapshot to reuse, or null. A new buffer is allocated if it is too small.
+     * @return The buffer holding the keyframe, ready to be read.
+     */
+    public static ByteBuffer write(GameMap map, ByteBuffer buffer) {
+        TileGrid tiles = map.getTileGrid();
+        int cellCount = tiles.getWidth() * tiles.getHeight();
+        buffer = prepare(buffer, HEADER_SIZE + cellCount + entitySize(map));
+        putHeader(buffer, map, KEYFRAME, cellCount);
+        tiles.writeCells(buffer);
+        putEntities(buffer, map);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Takes a delta of the map against a keyframe of the same map.
+     * @param map The map.
+     * @param keyframe A keyframe taken with {@link #write(GameMap, ByteBuffer)}. It is not changed.
+     * @param buffer A buffer from an earlier snapshot to reuse, or null. A new buffer is allocated if it is too small.
+     * @return The buffer holding the delta, ready to be read.
+     */
+    public static ByteBuffer writeDelta(GameMap map, ByteBuffer keyframe, ByteBuffer buffer) {
+        TileGrid tiles = map.getTileGrid();
+        int cellCount = tiles.getWidth() * tiles.getHeight();
+        checkKeyframe(keyframe, tiles);
+        int changed = 0;
+        for (int i = 0; i < cellCount; i++) {
+            if (tiles.getCell(i) != (keyframe.get(HEADER_SIZE + i) & 0xFF)) {
+                changed++;
+            }
+        }
+        buffer = prepare(buffer, HEADER_SIZE + changed * DELTA_TILE_SIZE + entitySize(map));
+        putHeader(buffer, map, DELTA, changed);
+        for (int i = 0; i < cellCount; i++) {
+            int cell = tiles.getCell(i);
+            if (cell != (keyframe.get(HEADER_SIZE + i) & 0xFF)) {
+                buffer.putInt(i);
+                buffer.put((byte) cell);
+            }
+        }
+        putEntities(buffer, map);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Puts the map back into the state of a keyframe.
+     * @param map The map the keyframe was taken of.
+     * @param keyframe The keyframe. It is not changed.
+     */
+    public static void restore(GameMap map, ByteBuffer keyframe) {
+        ByteBuffer snapshot = keyframe.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (readKind(snapshot) != KEYFRAME) {
+            throw new GdxRuntimeException("A delta snapshot can only be restored together with its keyframe");
+        }
+        checkKeyframe(keyframe, map.getTileGrid());
+        snapshot.position(HEADER_SIZE);
+        boolean wallsChanged = map.getTileGrid().readCells(snapshot);
+        readEntities(snapshot, keyframe, map, wallsChanged);
+    }
+
+    /**
+     * Puts the map back into the state of a delta.
+     * @param map The map the snapshots were taken of.
+     * @param keyframe The keyframe the delta was taken against. It is not changed.
+     * @param delta The delta. It is not changed.
+     */
+    public static void restore(GameMap map, ByteBuffer keyframe, ByteBuffer delta) {
+        ByteBuffer snapshot = delta.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (readKind(snapshot) != DELTA) {
+            throw new GdxRuntimeException("Not a delta snapshot");
+        }
+        TileGrid tiles = map.getTileGrid();
+        checkKeyframe(keyframe, tiles);
+        ByteBuffer base = keyframe.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        base.position(HEADER_SIZE);
+        boolean wallsChanged = tiles.readCells(base);
+        int cellCount = tiles.getWidth() * tiles.getHeight();
+        int changed = snapshot.getInt(TILE_COUNT_OFFSET);
+        snapshot.position(HEADER_SIZE);
+        for (int i = 0; i < changed; i++) {
+            int cell = snapshot.getInt();
+            if (cell < 0 || cell >= cellCount) {
+                throw new GdxRuntimeException("Delta snapshot changes cell " + cell + " outside of the map");
+            }
+            wallsChanged |= tiles.setCell(cell, snapshot.get() & 0xFF);
+        }
+        readEntities(snapshot, delta, map, wallsChanged);
+    }
+
+    /**
+     * Returns whether the snapshot is a keyframe, so it can be restored on its own.
+     */
+    public static boolean isKeyframe(ByteBuffer snapshot) {
+        return readKind(snapshot.duplicate().order(ByteOrder.LITTLE_ENDIAN)) == KEYFRAME;
+    }
+
+    /**
+     * Returns the step of the match the snapshot was taken at, see {@link GameMap#getStepCount()}.
+     */
+    public static long getStep(ByteBuffer snapshot) {
+        ByteBuffer header = snapshot.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        readKind(header);
+        return header.getLong(8);
+    }
+
+    private static ByteBuffer prepare(ByteBuffer buffer, int size) {
+        if (buffer == null || buffer.capacity() < size) {
+            // Leave some room, so the buffer can be reused when a few more bombs are on the map
+            buffer = ByteBuffer.allocate(size + size / 4);
+        }
+        buffer.clear();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static int entitySize(GameMap map) {
+        return map.getEnemies().size() * ENEMY_SIZE + map.getBombs().size() * BOMB_SIZE
+                + map.getBlastEngine().getFlameCount() * FLAME_SIZE;
+    }
+
+    private static void putHeader(ByteBuffer buffer, GameMap map, byte kind, int tileEntries) {
+        Player player = map.getPlayer();
+        Vector2 velocity = player.getHitbox().getLinearVelocity();
+        int flags = (map.isGameOver() ? GAME_OVER : 0)
+                | (map.isWon() ? WON : 0)
+                | (map.isExitRevealed() ? EXIT_REVEALED : 0)
+                | (player.isDead() ? PLAYER_DEAD : 0);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put(kind);
+        buffer.put((byte) flags);
+        buffer.putLong(map.getStepCount());
+        buffer.putFloat(map.getPhysicsTime());
+        buffer.putFloat(map.getCountdownTime());
+        buffer.putLong(map.getRandom().getState(0));
+        buffer.putLong(map.getRandom().getState(1));
+        buffer.putFloat(player.getX());
+        buffer.putFloat(player.getY());
+        buffer.putFloat(velocity.x);
+        buffer.putFloat(velocity.y);
+        buffer.putInt(map.getTileGrid().getWidth());
+        buffer.putInt(map.getTileGrid().getHeight());
+        buffer.putInt(map.getExitCell());
+        buffer.putInt(tileEntries);
+        buffer.putInt(map.getEnemies().size());
+        buffer.putInt(map.getBombs().size());
+        buffer.putInt(map.getBlastEngine().getFlameCount());
+    }
+
+    private static void putEntities(ByteBuffer buffer, GameMap map) {
+        ImmutableArray<Entity> enemies = map.getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            Entity enemy = enemies.get(i);
+            PositionComponent position = Mappers.POSITION.get(enemy);
+            AIComponent ai = Mappers.AI.get(enemy);
+            buffer.putFloat(position.x);
+            buffer.putFloat(position.y);
+            buffer.putFloat(ai.moveSpeed);
+            buffer.putInt(ai.health);
+        }
+        ImmutableArray<Entity> bombs = map.getBombs();
+        for (int i = 0; i < bombs.size(); i++) {
+            Entity bomb = bombs.get(i);
+            PositionComponent position = Mappers.POSITION.get(bomb);
+            buffer.putInt(map.getTileGrid().index((int) position.x, (int) position.y));
+            buffer.putFloat(Mappers.FUSE.get(bomb).timer);
+        }
+        BlastEngine blastEngine = map.getBlastEngine();
+        for (int i = 0; i < blastEngine.getFlameCount(); i++) {
+            buffer.putInt(blastEngine.getFlameCell(i));
+            buffer.putFloat(blastEngine.getFlameTime(i));
+        }
+    }
+
+    /**
+     * Reads the entities that follow the tiles, and everything else from the header, into the map.
+     * @param snapshot The snapshot, positioned after the tiles.
+     * @param header The snapshot as it was passed in, to read the header from.
+     */
+    private static void readEntities(ByteBuffer snapshot, ByteBuffer header, GameMap map, boolean wallsChanged) {
+        header = header.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        header.position(4 + 2 + 1);
+        int flags = header.get();
+        long step = header.getLong();
+        float physicsTime = header.getFloat();
+        float countdown = header.getFloat();
+        long random0 = header.getLong();
+        long random1 = header.getLong();
+        float playerX = header.getFloat();
+        float playerY = header.getFloat();
+        float playerXVelocity = header.getFloat();
+        float playerYVelocity = header.getFloat();
+        int exitCell = header.getInt(TILE_COUNT_OFFSET - 4);
+        header.position(TILE_COUNT_OFFSET + 4);
+        int enemyCount = header.getInt();
+        int bombCount = header.getInt();
+        int flameCount = header.getInt();
+        TileGrid tiles = map.getTileGrid();
+
+        map.removeEnemiesAndBombs();
+        for (int i = 0; i < enemyCount; i++) {
+            Entity enemy = map.addEnemy(snapshot.getFloat(), snapshot.getFloat());
+            AIComponent ai = Mappers.AI.get(enemy);
+            ai.moveSpeed = snapshot.getFloat();
+            ai.health = snapshot.getInt();
+        }
+        for (int i = 0; i < bombCount; i++) {
+            int cell = snapshot.getInt();
+            Entity bomb = map.addBomb(cell % tiles.getWidth(), cell / tiles.getWidth());
+            Mappers.FUSE.get(bomb).timer = snapshot.getFloat();
+        }
+        BlastEngine blastEngine = map.getBlastEngine();
+        blastEngine.clearFlames();
+        for (int i = 0; i < flameCount; i++) {
+            blastEngine.addFlame(snapshot.getInt(), snapshot.getFloat());
+        }
+
+        map.getRandom().setState(random0, random1);
+        map.moveExit(exitCell);
+        map.getPlayer().restore(playerX, playerY, playerXVelocity, playerYVelocity, (flags & PLAYER_DEAD) != 0);
+        map.restoreState(step, physicsTime, countdown,
+                (flags & GAME_OVER) != 0, (flags & WON) != 0, (flags & EXIT_REVEALED) != 0);
+        map.finishRestore(wallsChanged);
+    }
+
+    /**
+     * Checks the magic and the version, and returns the kind of the snapshot.
+     */
+    private static byte readKind(ByteBuffer snapshot) {
+        if (snapshot.remaining() < HEADER_SIZE || snapshot.getInt(0) != MAGIC) {
+            throw new GdxRuntimeException("Not a map snapshot");
+        }
+        short version = snapshot.getShort(4);
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported map snapshot version " + version);
+        }
+        return snapshot.get(6);
+    }
+
+    /**
+     * Makes sure the keyframe was taken of a map of the same size as the given tiles.
+     */
+    private static void checkKeyframe(ByteBuffer keyframe, TileGrid tiles) {
+        keyframe = keyframe.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (readKind(keyframe) != KEYFRAME) {
+            throw new GdxRuntimeException("Not a keyframe");
+        }
+        int width = keyframe.getInt(TILE_COUNT_OFFSET - 12);
+        int height = keyframe.getInt(TILE_COUNT_OFFSET - 8);
+        if (width != tiles.getWidth() || height != tiles.getHeight()) {
+            throw new GdxRuntimeException("The snapshot was taken of a " + width + "x" + height + " map, not of this one");
+        }
+    }
+}
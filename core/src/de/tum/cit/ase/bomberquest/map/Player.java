@@ -1,38 +1,31 @@
 package de.tum.cit.ase.bomberquest.map;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.World;
-import de.tum.cit.ase.bomberquest.texture.Animations;
-import de.tum.cit.ase.bomberquest.texture.Bomb;
-import de.tum.cit.ase.bomberquest.texture.Drawable;
-
-import java.util.List;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
 
 /**
  * Represents the player character in the game.
  * The player has a hitbox, so it can collide with other objects in the game.
+ * The player is drawn through its entity on the map, this class moves it in response to the input.
  */
-public class Player implements Drawable {
-
-    /** Total time elapsed since the game started. We use this for calculating the player movement and animating it. */
-    private float elapsedTime;
+public class Player {
 
     /** The Box2D hitbox of the player, used for position and collision detection. */
     private final Body hitbox;
 
+    /** How close an enemy has to get to kill the player, in tiles. */
+    private static final float ENEMY_CONTACT_DISTANCE = 0.5f;
+
     /** Player health (1 life). */
     private boolean isDead = false;
 
-    private final World world;
     private final GameMap gameMap;  // Assuming you have a GameMap class to manage bombs and enemies.
 
     public Player(World world, GameMap gameMap, int x, int y) {
-        this.world = world;
         this.gameMap = gameMap;
         this.hitbox = createHitbox(world, x, y);
     }
@@ -61,97 +54,95 @@ private Body createHitbox(World world, float startX, float startY) {
     }
 
     /**
-     * Move the player around in response to keyboard input.
+     * Move the player around in response to the input.
      * This method will prevent movement through walls.
-     * @param frameTime the time since the last frame.
+     * @param frameTime the time since the last step.
+     * @param buttons the buttons pressed in this step, see {@link PlayerInput}.
      */
-    public void tick(float frameTime) {
-        this.elapsedTime += frameTime;
-
-        // Handle movement based on key input
+    public void tick(float frameTime, int buttons) {
+        // Handle movement based on the pressed buttons
         float xVelocity = 0;
         float yVelocity = 0;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+        if ((buttons & PlayerInput.UP) != 0) {
             yVelocity = 2;
-        } else if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+        } else if ((buttons & PlayerInput.DOWN) != 0) {
             yVelocity = -2;
         }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+        if ((buttons & PlayerInput.LEFT) != 0) {
             xVelocity = -2;
-        } else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+        } else if ((buttons & PlayerInput.RIGHT) != 0) {
             xVelocity = 2;
         }
 
         // Set the player's linear velocity to move it around
         this.hitbox.setLinearVelocity(xVelocity, yVelocity);
 
-        // Drop bombs if space bar is pressed
-        dropBomb();
+        // Drop a bomb if the bomb button is pressed
+        if ((buttons & PlayerInput.BOMB) != 0) {
+            gameMap.placeBomb(MathUtils.round(this.getX()), MathUtils.round(this.getY()));
+        }
 
         // Check if the player is dead (bomb explosion or enemy collision)
-        checkDeath(gameMap.getBombs(), gameMap.getEnemies());
-
-
-    }
-
-    /**
-     * Drops a bomb at the player's current position if the space bar is pressed.
-     */
-    private void dropBomb() {
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            Bomb bomb = new Bomb(this.getX(), this.getY());
-            gameMap.addBomb(bomb);  // Assuming you have a method to add bombs to your game world
+        if (!isDead) {
+            checkDeath();
         }
     }
 
     /**
      * Checks if the player is dead (collided with bomb explosion or enemy).
-     * @param bombs The list of bombs in the game.
-     * @param enemies The list of enemies in the game.
+     * The map ends the match once the player is dead, see {@link GameMap#isGameOver()}.
+     * Only the enemies close to the player are looked at, see {@link GameMap#getEnemyIndex()}.
      */
-    private void checkDeath(List<Bomb> bombs, List<Enemy> enemies) {
-        // Check bomb explosions
-        for (Bomb bomb : bombs) {
-            if (bomb.explodesAt(this.getX(), this.getY())) {
-                isDead = true;
-                gameOver();
-                break;
-            }
+    private void checkDeath() {
+        float x = this.getX();
+        float y = this.getY();
+
+        // Check bomb explosions, burning tiles are marked in the map
+        if (gameMap.getBlastEngine().isBurning(x, y)) {
+            isDead = true;
+            return;
         }
 
         // Check for collision with enemies
-        for (Enemy enemy : enemies) {
-            if (enemy.getX() == this.getX() && enemy.getY() == this.getY()) {
-                isDead = true;
-                gameOver();
-                break;
-            }
+        if (gameMap.getEnemyIndex().findWithin(x, y, ENEMY_CONTACT_DISTANCE) != null) {
+            isDead = true;
         }
     }
 
     /**
-     * Trigger the game over logic (e.g., pause the game or display a game over screen).
+     * Brings the player back to life at the given position, like a new player, e.g. when the match is reset.
+     * The hitbox is taken out of the world and put back, so Box2D forgets its contacts like for a new hitbox.
+     */
+    void respawn(float x, float y) {
+        hitbox.setActive(false);
+        restore(x, y, 0, 0, false);
+        hitbox.setActive(true);
+    }
+
+    /**
+     * Moves the player to the given state, e.g. when a snapshot is restored.
      */
-    private void gameOver() {
-        System.out.println("Game Over!");
-        // Add game over handling here, like stopping the game or showing a screen
+    void restore(float x, float y, float xVelocity, float yVelocity, boolean dead) {
+        hitbox.setTransform(x, y, 0);
+        hitbox.setLinearVelocity(xVelocity, yVelocity);
+        // Friction with the walls spins the hitbox, the state does not depend on how it turned before
+        hitbox.setAngularVelocity(0);
+        hitbox.setAwake(true);
+        this.isDead = dead;
     }
 
-    @Override
-    public TextureRegion getCurrentAppearance() {
-        // Get the frame of the walk down animation that corresponds to the current time.
-        return Animations.CHARACTER_WALK_DOWN.getKeyFrame(this.elapsedTime, true);
+    /** Returns the Box2D hitbox of the player. */
+    public Body getHitbox() {
+        return hitbox;
     }
 
-    @Override
-    public int getX() {
+    public float getX() {
         return hitbox.getPosition().x;
     }
 
-    @Override
-    public int getY() {
+    public float getY() {
         return hitbox.getPosition().y;
     }
 
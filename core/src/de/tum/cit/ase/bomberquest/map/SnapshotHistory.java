@@ -0,0 +1,93 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Keeps the last few snapshots of a map in memory, so the match can be rewound.
+ * Snapshots are kept in groups: every group starts with a keyframe, followed by deltas against it,
+ * see {@link MapSnapshot}. When the history is full, the oldest group is dropped and its buffers are reused,
+ * so once the history has filled up, recording a snapshot does not allocate.
+ */
+public class SnapshotHistory {
+
+    private final ByteBuffer[][] groups;
+    private final int groupSize;
+    /** The group the next snapshot goes into, and how many snapshots it already holds. */
+    private int currentGroup = 0;
+    private int currentSize = 0;
+    /** The number of snapshots that can be rewound to. */
+    private int size = 0;
+
+    /**
+     * @param groups How many keyframes are kept.
+     * @param groupSize How many snapshots there are per keyframe, including the keyframe itself.
+     *                  The history holds up to {@code groups * groupSize} snapshots.
+     */
+    public SnapshotHistory(int groups, int groupSize) {
+        if (groups < 1 || groupSize < 1) {
+            throw new IllegalArgumentException("Invalid history size " + groups + "x" + groupSize);
+        }
+        this.groups = new ByteBuffer[groups][groupSize];
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * Takes a snapshot of the map and adds it to the history, dropping the oldest snapshots if the history is full.
+     */
+    public void record(GameMap map) {
+        if (currentSize == groupSize) {
+            currentGroup = (currentGroup + 1) % groups.length;
+            currentSize = 0;
+            // The group that is reused held the oldest snapshots
+            size = Math.min(size, (groups.length - 1) * groupSize);
+        }
+        ByteBuffer[] group = groups[currentGroup];
+        group[currentSize] = currentSize == 0
+                ? MapSnapshot.write(map, group[0])
+                : MapSnapshot.writeDelta(map, group[0], group[currentSize]);
+        currentSize++;
+        size++;
+    }
+
+    /**
+     * Puts the map back into the state of an earlier snapshot and forgets all snapshots after it.
+     * @param back How many snapshots to go back, 0 is the most recent one.
+     *             If the history does not reach back that far, the oldest snapshot is used.
+     * @return False if the history is empty.
+     */
+    public boolean rewind(GameMap map, int back) {
+        if (size == 0) {
+            return false;
+        }
+        back = Math.min(back, size - 1);
+        // Walk back through the groups to the snapshot
+        int group = currentGroup;
+        int index = currentSize - 1 - back;
+        while (index < 0) {
+            group = (group - 1 + groups.length) % groups.length;
+            index += groupSize;
+        }
+        if (index == 0) {
+            MapSnapshot.restore(map, groups[group][0]);
+        } else {
+            MapSnapshot.restore(map, groups[group][0], groups[group][index]);
+        }
+        // The restored snapshot stays in the history, so the map can be rewound to it again
+        currentGroup = group;
+        currentSize = index + 1;
+        size -= back;
+        return true;
+    }
+
+    /** Returns the number of snapshots in the history. */
+    public int size() {
+        return size;
+    }
+
+    /** Forgets all snapshots, e.g. when another match is started. The buffers are kept. */
+    public void clear() {
+        currentGroup = 0;
+        currentSize = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,250 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid that remembers which objects are in which tile of the map.
+ * Every tile holds a linked list of the objects in it. The lists are stored in plain int arrays,
+ * so adding, moving and removing an object never allocates, and neither do the queries.
+ * <p>
+ * When an object is added, it gets an id, which it must keep and pass to {@link #move(int, float, float)}
+ * whenever it moves and to {@link #remove(int)} when it leaves the map.
+ *
+ * @param <T> The type of objects in the index.
+ */
+public class SpatialIndex<T> {
+
+    /** Marks the end of a list. */
+    public static final int NONE = -1;
+
+    /**
+     * Receives the objects found by a query.
+     * @param <T> The type of objects in the index.
+     */
+    public interface Visitor<T> {
+        /**
+         * @param item An object that matches the query.
+         * @return True to continue the query, false to stop it.
+         */
+        boolean visit(T item);
+    }
+
+    private final int width;
+    private final int height;
+    /** The first entry in each tile. */
+    private final int[] heads;
+    // Per entry: the next and previous entry in the same tile and the tile the entry is in
+    private int[] next;
+    private int[] previous;
+    private int[] cells;
+    private float[] xs;
+    private float[] ys;
+    private Object[] items;
+    /** Ids of removed entries that can be handed out again. */
+    private final IntArray freeIds = new IntArray();
+    private int capacity = 0;
+    private int size = 0;
+
+    /**
+     * Creates an empty index for a map of the given size.
+     */
+    public SpatialIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.heads = new int[width * height];
+        Arrays.fill(heads, NONE);
+        grow(16);
+    }
+
+    /**
+     * Adds an object to the index.
+     * @return The id of the object in this index.
+     */
+    public int add(T item, float x, float y) {
+        if (freeIds.isEmpty()) {
+            if (capacity == items.length) {
+                grow(items.length * 2);
+            }
+            freeIds.add(capacity++);
+        }
+        int id = freeIds.pop();
+        items[id] = item;
+        xs[id] = x;
+        ys[id] = y;
+        link(id, cellAt(x, y));
+        size++;
+        return id;
+    }
+
+    /**
+     * Updates the position of an object. This is cheap if the object stays in the same tile.
+     */
+    public void move(int id, float x, float y) {
+        xs[id] = x;
+        ys[id] = y;
+        int cell = cellAt(x, y);
+        if (cell != cells[id]) {
+            unlink(id);
+            link(id, cell);
+        }
+    }
+
+    /**
+     * Removes an object from the index. Its id may be handed out to another object afterwards.
+     */
+    public void remove(int id) {
+        unlink(id);
+        items[id] = null;
+        freeIds.add(id);
+        size--;
+    }
+
+    /**
+     * Returns the first object in the given tile, or null if the tile is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T first(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return null;
+        }
+        int id = heads[y * width + x];
+        return id == NONE ? null : (T) items[id];
+    }
+
+    /**
+     * Visits all objects in the given tile.
+     * @return True if all objects were visited, false if the visitor stopped the query early.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean forEachInTile(int x, int y, Visitor<T> visitor) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return true;
+        }
+        int id = heads[y * width + x];
+        while (id != NONE) {
+            // Read the next entry first, so the visitor may remove the current one
+            int nextId = next[id];
+            if (!visitor.visit((T) items[id])) {
+                return false;
+            }
+            id = nextId;
+        }
+        return true;
+    }
+
+    /**
+     * Finds any object within the given distance of a position.
+     * @return The first object found, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public T findWithin(float x, float y, float radius) {
+        float radius2 = radius * radius;
+        int minX = Math.max(0, MathUtils.round(x - radius));
+        int maxX = Math.min(width - 1, MathUtils.round(x + radius));
+        int minY = Math.max(0, MathUtils.round(y - radius));
+        int maxY = Math.min(height - 1, MathUtils.round(y + radius));
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                for (int id = heads[cy * width + cx]; id != NONE; id = next[id]) {
+                    if (distance2(id, x, y) <= radius2) {
+                        return (T) items[id];
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Visits all objects within the given distance of a position.
+     * @return True if all objects were visited, false if the visitor stopped the query early.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean forEachWithin(float x, float y, float radius, Visitor<T> visitor) {
+        float radius2 = radius * radius;
+        int minX = Math.max(0, MathUtils.round(x - radius));
+        int maxX = Math.min(width - 1, MathUtils.round(x + radius));
+        int minY = Math.max(0, MathUtils.round(y - radius));
+        int maxY = Math.min(height - 1, MathUtils.round(y + radius));
+        for (int cy = minY; cy <= maxY; cy++) {
+            for (int cx = minX; cx <= maxX; cx++) {
+                int id = heads[cy * width + cx];
+                while (id != NONE) {
+                    // Read the next entry first, so the visitor may remove the current one
+                    int nextId = next[id];
+                    if (distance2(id, x, y) <= radius2 && !visitor.visit((T) items[id])) {
+                        return false;
+                    }
+                    id = nextId;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of objects in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all objects from the index.
+     */
+    public void clear() {
+        Arrays.fill(heads, NONE);
+        Arrays.fill(items, null);
+        freeIds.clear();
+        capacity = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the tile a position belongs to. Positions outside the map are clamped to the border.
+     */
+    private int cellAt(float x, float y) {
+        int cx = MathUtils.clamp(MathUtils.round(x), 0, width - 1);
+        int cy = MathUtils.clamp(MathUtils.round(y), 0, height - 1);
+        return cy * width + cx;
+    }
+
+    private float distance2(int id, float x, float y) {
+        float dx = xs[id] - x;
+        float dy = ys[id] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private void link(int id, int cell) {
+        cells[id] = cell;
+        previous[id] = NONE;
+        next[id] = heads[cell];
+        if (heads[cell] != NONE) {
+            previous[heads[cell]] = id;
+        }
+        heads[cell] = id;
+    }
+
+    private void unlink(int id) {
+        if (previous[id] != NONE) {
+            next[previous[id]] = next[id];
+        } else {
+            heads[cells[id]] = next[id];
+        }
+        if (next[id] != NONE) {
+            previous[next[id]] = previous[id];
+        }
+    }
+
+    private void grow(int newCapacity) {
+        next = next == null ? new int[newCapacity] : Arrays.copyOf(next, newCapacity);
+        previous = previous == null ? new int[newCapacity] : Arrays.copyOf(previous, newCapacity);
+        cells = cells == null ? new int[newCapacity] : Arrays.copyOf(cells, newCapacity);
+        xs = xs == null ? new float[newCapacity] : Arrays.copyOf(xs, newCapacity);
+        ys = ys == null ? new float[newCapacity] : Arrays.copyOf(ys, newCapacity);
+        items = items == null ? new Object[newCapacity] : Arrays.copyOf(items, newCapacity);
+    }
+}
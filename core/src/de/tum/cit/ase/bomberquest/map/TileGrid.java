@@ -0,0 +1,274 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compact storage for all tiles of a map.
+ * Every cell is stored as a single byte in one flat array, so even a 1000x1000 map only needs about 1 MB.
+ * The bits of a cell are laid out as follows:
+ * <ul>
+ *     <li>bits 0-1: the tile type ({@link #PATH}, {@link #INDESTRUCTIBLE_WALL} or {@link #DESTRUCTIBLE_WALL})</li>
+ *     <li>bit 2: {@link #DESTROYED}, set once a destructible wall has been blown up</li>
+ *     <li>bit 3: {@link #EXIT}, set if the exit is hidden in this cell</li>
+ *     <li>bits 4-5: the power-up hidden in this cell ({@link #NO_POWER_UP}, {@link #BOMB_POWER_UP} or {@link #BLAST_POWER_UP})</li>
+ *     <li>bit 6: {@link #FLAME}, set while an explosion is burning in this cell</li>
+ * </ul>
+ * Coordinates are tile coordinates with (0, 0) in the bottom left corner of the map.
+ */
+public class TileGrid {
+
+    /** A walkable floor tile. */
+    public static final int PATH = 0;
+    /** A wall that can never be destroyed. */
+    public static final int INDESTRUCTIBLE_WALL = 1;
+    /** A wall that can be destroyed by a bomb. */
+    public static final int DESTRUCTIBLE_WALL = 2;
+
+    /** Flag set on a destructible wall once it has been destroyed. */
+    public static final int DESTROYED = 1 << 2;
+    /** Flag set on the cell that hides the exit. */
+    public static final int EXIT = 1 << 3;
+    /** Flag set while an explosion is burning in the cell. */
+    public static final int FLAME = 1 << 6;
+
+    public static final int NO_POWER_UP = 0;
+    /** Power-up that increases the number of bombs the player can place at once. */
+    public static final int BOMB_POWER_UP = 1;
+    /** Power-up that increases the blast radius of the player's bombs. */
+    public static final int BLAST_POWER_UP = 2;
+
+    private static final int TYPE_MASK = 0b11;
+    private static final int POWER_UP_SHIFT = 4;
+    private static final int POWER_UP_MASK = 0b11 << POWER_UP_SHIFT;
+
+    private final int width;
+    private final int height;
+    private final byte[] cells;
+
+    /**
+     * Creates a grid where every cell is a {@link #PATH}.
+     * @param width The number of columns.
+     * @param height The number of rows.
+     */
+    public TileGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Invalid grid size " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    /**
+     * Returns the raw cell value at the given position.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The cell bits, see the class documentation for the layout.
+     */
+    public int get(int x, int y) {
+        return cells[index(x, y)] & 0xFF;
+    }
+
+    /**
+     * Overwrites the raw cell value at the given position.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @param cell The cell bits, see the class documentation for the layout.
+     */
+    public void set(int x, int y, int cell) {
+        cells[index(x, y)] = (byte) cell;
+    }
+
+    /**
+     * Returns the tile type at the given position.
+     * @return One of {@link #PATH}, {@link #INDESTRUCTIBLE_WALL} or {@link #DESTRUCTIBLE_WALL}.
+     */
+    public int getType(int x, int y) {
+        return get(x, y) & TYPE_MASK;
+    }
+
+    /**
+     * Changes the tile type at the given position, keeping all flags.
+     */
+    public void setType(int x, int y, int type) {
+        int i = index(x, y);
+        cells[i] = (byte) ((cells[i] & ~TYPE_MASK) | (type & TYPE_MASK));
+    }
+
+    /**
+     * Checks if the given cell blocks movement.
+     * Cells outside the grid are treated as solid, so nothing can leave the map.
+     * @return True for indestructible walls and destructible walls that have not been destroyed yet.
+     */
+    public boolean isSolid(int x, int y) {
+        if (!contains(x, y)) {
+            return true;
+        }
+        return isSolidCell(cells[index(x, y)]);
+    }
+
+    /**
+     * Checks if the given cell holds a destructible wall that is still standing.
+     */
+    public boolean isDestructible(int x, int y) {
+        int cell = get(x, y);
+        return (cell & TYPE_MASK) == DESTRUCTIBLE_WALL && (cell & DESTROYED) == 0;
+    }
+
+    /**
+     * Marks the destructible wall at the given position as destroyed.
+     * @return True if a wall was destroyed, false if there was no standing destructible wall.
+     */
+    public boolean destroy(int x, int y) {
+        if (!isDestructible(x, y)) {
+            return false;
+        }
+        cells[index(x, y)] |= DESTROYED;
+        return true;
+    }
+
+    /**
+     * Checks if the exit is hidden in the given cell.
+     */
+    public boolean hasExit(int x, int y) {
+        return (get(x, y) & EXIT) != 0;
+    }
+
+    /**
+     * Checks if an explosion is burning in the given cell.
+     */
+    public boolean isBurning(int x, int y) {
+        return contains(x, y) && (get(x, y) & FLAME) != 0;
+    }
+
+    /**
+     * Lights or extinguishes the explosion in the given cell.
+     */
+    public void setBurning(int x, int y, boolean burning) {
+        int i = index(x, y);
+        cells[i] = (byte) (burning ? cells[i] | FLAME : cells[i] & ~FLAME);
+    }
+
+    /**
+     * Returns the power-up hidden in the given cell.
+     * @return One of {@link #NO_POWER_UP}, {@link #BOMB_POWER_UP} or {@link #BLAST_POWER_UP}.
+     */
+    public int getPowerUp(int x, int y) {
+        return (get(x, y) & POWER_UP_MASK) >> POWER_UP_SHIFT;
+    }
+
+    /**
+     * Hides a power-up in the given cell, replacing any previous one.
+     */
+    public void setPowerUp(int x, int y, int powerUp) {
+        int i = index(x, y);
+        cells[i] = (byte) ((cells[i] & ~POWER_UP_MASK) | ((powerUp << POWER_UP_SHIFT) & POWER_UP_MASK));
+    }
+
+    /**
+     * Checks if the given position lies inside the grid.
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Returns the position of the given cell in the flat cell array.
+     */
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the raw cell value at the given position in the flat cell array.
+     */
+    int getCell(int index) {
+        return cells[index] & 0xFF;
+    }
+
+    /**
+     * Sets the raw cell value at the given position in the flat cell array.
+     * @return True if the cell blocks movement now and did not before, or the other way round.
+     */
+    boolean setCell(int index, int cell) {
+        boolean wasSolid = isSolidCell(cells[index] & 0xFF);
+        cells[index] = (byte) cell;
+        return wasSolid != isSolidCell(cell);
+    }
+
+    /**
+     * Writes all cells into the buffer, one byte per cell, row by row.
+     */
+    void writeCells(ByteBuffer buffer) {
+        buffer.put(cells);
+    }
+
+    /**
+     * Copies all cells from the buffer in one go, as written by {@link #writeCells(ByteBuffer)}, e.g. from a compiled map.
+     * Unlike {@link #readCells(ByteBuffer)}, this does not look at the cells, so it cannot tell which walls changed.
+     */
+    void copyCells(ByteBuffer buffer) {
+        buffer.get(cells);
+    }
+
+    /**
+     * Reads all cells from the buffer, as written by {@link #writeCells(ByteBuffer)}.
+     * @return True if any cell blocks movement now and did not before, or the other way round.
+     */
+    boolean readCells(ByteBuffer buffer) {
+        boolean solidChanged = false;
+        for (int i = 0; i < cells.length; i++) {
+            solidChanged |= setCell(i, buffer.get() & 0xFF);
+        }
+        return solidChanged;
+    }
+
+    /**
+     * Copies all cells of a grid of the same size into this grid.
+     * @return True if any cell blocks movement now and did not before, or the other way round.
+     */
+    boolean copyFrom(TileGrid source) {
+        if (source.width != width || source.height != height) {
+            throw new IllegalArgumentException("Cannot copy a " + source.width + "x" + source.height
+                    + " grid into a " + width + "x" + height + " grid");
+        }
+        boolean solidChanged = false;
+        for (int i = 0; i < cells.length; i++) {
+            solidChanged |= setCell(i, source.cells[i] & 0xFF);
+        }
+        return solidChanged;
+    }
+
+    /**
+     * Returns a new grid with the same size and the same cells.
+     */
+    public TileGrid copy() {
+        TileGrid copy = new TileGrid(width, height);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        return copy;
+    }
+
+    /**
+     * Checks if the other grid has the same size and exactly the same cells.
+     */
+    public boolean contentEquals(TileGrid other) {
+        return width == other.width && height == other.height && Arrays.equals(cells, other.cells);
+    }
+
+    /**
+     * Checks if raw cell bits describe a cell that blocks movement.
+     */
+    static boolean isSolidCell(int cell) {
+        int type = cell & TYPE_MASK;
+        return type == INDESTRUCTIBLE_WALL || (type == DESTRUCTIBLE_WALL && (cell & DESTROYED) == 0);
+    }
+}
@@ -1,103 +1,71 @@
 package de.tum.cit.ase.bomberquest.map;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.physics.box2d.*;
 import de.tum.cit.ase.bomberquest.texture.Drawable;
+import de.tum.cit.ase.bomberquest.texture.Textures;
 
 /**
  * Represents a wall or path in the game map.
+ * This is only a lightweight view of a single cell of a {@link TileGrid}.
+ * It holds no state of its own, so it can be created whenever a tile needs to be handled as an object.
  */
 public class WallPath implements Drawable {
 
-    private final Body body;
-    private final boolean destructible;
-    private final TextureRegion texture;
-    private Exit exit;
+    private final TileGrid grid;
+    private final int x;
+    private final int y;
 
     /**
-     * Constructor to initialize the wall or path.
-     * @param world The Box2D world where the body will be created.
+     * Constructor to create a view of the wall or path.
+     * @param grid The grid that stores the tile.
      * @param x The x-coordinate of the wall or path.
      * @param y The y-coordinate of the wall or path.
-     * @param destructible True if the wall is destructible, false otherwise.
-     * @param texture The texture to render the wall or path.
      */
-    public WallPath(World world, float x, float y, boolean destructible, TextureRegion texture) {
-        this.destructible = destructible;
-        this.texture = texture;
-        this.body = createBody(world, x, y);
-        this.exit = null;
-    }
-
-    public Exit getExit() {
-        return exit;
+    public WallPath(TileGrid grid, int x, int y) {
+        this.grid = grid;
+        this.x = x;
+        this.y = y;
     }
 
     /**
-     * Creates a Box2D body for the wall or path.
-     * @param world The Box2D world.
-     * @param x The x-coordinate.
-     * @param y The y-coordinate.
-     * @return The created Box2D body.
+     * Checks if the exit is hidden under this wall.
+     * @return True if the exit is in this cell, false otherwise.
      */
-    private Body createBody(World world, float x, float y) {
-        BodyDef bodyDef = new BodyDef();
-        bodyDef.type = BodyDef.BodyType.StaticBody;
-        bodyDef.position.set(x, y);
-
-        Body body = world.createBody(bodyDef);
-
-        PolygonShape shape = new PolygonShape();
-        shape.setAsBox(0.5f, 0.5f);
-
-        FixtureDef fixtureDef = new FixtureDef();
-        fixtureDef.shape = shape;
-        fixtureDef.density = 0.0f;
-        fixtureDef.friction = 0.5f;
-        fixtureDef.restitution = 0.1f;
-
-        body.createFixture(fixtureDef);
-        body.setUserData(this);
-
-        shape.dispose();
-        return body;
+    public boolean hasExit() {
+        return grid.hasExit(x, y);
     }
 
     /**
      * Destroys the wall if it is destructible.
      */
     public void destroy(GameMap gameMap) {
-        if (destructible) {
-            body.getWorld().destroyBody(body);
-
-            // Reveal the exit if it was hidden under this wall
-            if (exit != null && exit.getX() == getX() && exit.getY() == getY()) {
-                exit.reveal();
-            }
-        }
+        gameMap.destroyWall(x, y);
     }
 
-
-
     /**
      * Checks if the wall is destructible.
      * @return True if destructible, false otherwise.
      */
     public boolean isDestructible() {
-        return destructible;
+        return grid.isDestructible(x, y);
     }
     public boolean isIndestructible() {
-        return !destructible; // Wall is indestructible if it is not destructible
+        return grid.getType(x, y) == TileGrid.INDESTRUCTIBLE_WALL;
     }
 
-
     /**
      * Returns the current texture for rendering.
      * @return The texture region of the wall or path.
      */
     @Override
     public TextureRegion getCurrentAppearance() {
-        return texture;
+        if (isIndestructible()) {
+            return Textures.INDESTRUCTIBLE_WALL;
+        }
+        if (isDestructible()) {
+            return Textures.DESTRUCTIBLE_WALL;
+        }
+        return Textures.PATH;
     }
 
     /**
@@ -106,7 +74,7 @@ public TextureRegion getCurrentAppearance() {
      */
     @Override
     public float getX() {
-        return body.getPosition().x;
+        return x;
     }
 
     /**
@@ -115,6 +83,6 @@ public float getX() {
      */
     @Override
     public float getY() {
-        return body.getPosition().y;
+        return y;
     }
 }
@@ -0,0 +1,204 @@
+package de.tum.cit.ase.bomberquest.profiling;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Records how long each phase of the last frames took, plus a few counters per frame.
+ * All values are kept in ring buffers of primitive arrays that are allocated once,
+ * so recording a frame costs a handful of {@link System#nanoTime()} calls and no allocation.
+ * <p>
+ * A frame is recorded like this:
+ * <pre>
+ * profiler.beginFrame();
+ * profiler.begin(Phase.TICK);
+ * map.tick(frameTime);
+ * profiler.end(Phase.TICK);
+ * ...
+ * profiler.endFrame(steps, bodies, renderCalls);
+ * </pre>
+ */
+public class FrameProfiler {
+
+    /** The phases of a frame of the game screen. */
+    public enum Phase {
+        TICK("tick"),
+        CAMERA("camera"),
+        MAP("map"),
+        HUD("hud");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** Index of the whole frame in the statistics, after the phases. */
+    public static final int FRAME = Phase.values().length;
+
+    // Indices of the statistics of each phase
+    public static final int P50 = 0;
+    public static final int P99 = 1;
+    public static final int MAX = 2;
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final int capacity;
+    /** The duration of each phase and of the whole frame, in nanoseconds, indexed by [phase][slot]. */
+    private final long[][] durations;
+    private final int[] steps;
+    private final int[] bodies;
+    private final int[] renderCalls;
+    private final long[] phaseStarts = new long[PHASES.length];
+    private long frameStart;
+    /** The number of frames recorded so far. The current frame goes into slot {@code frames % capacity}. */
+    private long frames = 0;
+
+    /** The statistics computed by {@link #computeStatistics()}, indexed by [phase][P50, P99 or MAX]. */
+    private final long[][] statistics = new long[PHASES.length + 1][3];
+    private final long[] scratch;
+
+    /**
+     * @param capacity The number of frames to keep.
+     */
+    public FrameProfiler(int capacity) {
+        this.capacity = capacity;
+        this.durations = new long[PHASES.length + 1][capacity];
+        this.steps = new int[capacity];
+        this.bodies = new int[capacity];
+        this.renderCalls = new int[capacity];
+        this.scratch = new long[capacity];
+    }
+
+    /** Starts recording a new frame. */
+    public void beginFrame() {
+        int slot = slot();
+        for (long[] phase : durations) {
+            phase[slot] = 0;
+        }
+        frameStart = System.nanoTime();
+    }
+
+    /** Marks the start of a phase in the current frame. */
+    public void begin(Phase phase) {
+        phaseStarts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /** Marks the end of a phase. A phase may run several times per frame, its durations are added up. */
+    public void end(Phase phase) {
+        durations[phase.ordinal()][slot()] += System.nanoTime() - phaseStarts[phase.ordinal()];
+    }
+
+    /**
+     * Finishes the current frame.
+     * @param stepCount The number of simulation steps in this frame.
+     * @param bodyCount The number of Box2D bodies at the end of the frame.
+     * @param renderCallCount The number of draw calls sent to the graphics card in this frame.
+     */
+    public void endFrame(int stepCount, int bodyCount, int renderCallCount) {
+        int slot = slot();
+        durations[FRAME][slot] = System.nanoTime() - frameStart;
+        steps[slot] = stepCount;
+        bodies[slot] = bodyCount;
+        renderCalls[slot] = renderCallCount;
+        frames++;
+    }
+
+    /**
+     * Returns the number of frames that are currently kept.
+     */
+    public int getFrameCount() {
+        return (int) Math.min(frames, capacity);
+    }
+
+    /**
+     * Computes the median, the 99th percentile and the maximum of every phase over the kept frames.
+     * This sorts a copy of every ring buffer, so call it a few times per second at most.
+     * @return The statistics in nanoseconds, indexed by [{@link Phase#ordinal()} or {@link #FRAME}][{@link #P50},
+     *         {@link #P99} or {@link #MAX}]. The array is reused by the next call.
+     */
+    public long[][] computeStatistics() {
+        int count = getFrameCount();
+        for (int phase = 0; phase < durations.length; phase++) {
+            if (count == 0) {
+                Arrays.fill(statistics[phase], 0);
+                continue;
+            }
+            System.arraycopy(durations[phase], 0, scratch, 0, count);
+            Arrays.sort(scratch, 0, count);
+            statistics[phase][P50] = scratch[(count - 1) / 2];
+            statistics[phase][P99] = scratch[(int) Math.ceil(count * 0.99) - 1];
+            statistics[phase][MAX] = scratch[count - 1];
+        }
+        return statistics;
+    }
+
+    /** Returns the counters of the last finished frame: steps, bodies and render calls. */
+    public int getLastSteps() {
+        return frames == 0 ? 0 : steps[lastSlot()];
+    }
+
+    public int getLastBodies() {
+        return frames == 0 ? 0 : bodies[lastSlot()];
+    }
+
+    public int getLastRenderCalls() {
+        return frames == 0 ? 0 : renderCalls[lastSlot()];
+    }
+
+    /**
+     * Writes all kept frames to a file, oldest first, with one row per frame and all durations in microseconds.
+     * Files ending in {@code .json} are written as a JSON array of objects, anything else as CSV.
+     */
+    public void write(FileHandle file) throws IOException {
+        boolean json = file.extension().equals("json");
+        int count = getFrameCount();
+        try (Writer writer = file.writer(false, "UTF-8")) {
+            if (json) {
+                writer.write("[\n");
+            } else {
+                writer.write("frame");
+                for (Phase phase : PHASES) {
+                    writer.write("," + phase.getLabel() + "_us");
+                }
+                writer.write(",frame_us,steps,bodies,render_calls\n");
+            }
+            for (int i = 0; i < count; i++) {
+                long frame = frames - count + i;
+                int slot = (int) (frame % capacity);
+                writer.write(json ? "  {\"frame\": " + frame : Long.toString(frame));
+                for (Phase phase : PHASES) {
+                    writeValue(writer, json, phase.getLabel() + "_us", durations[phase.ordinal()][slot] / 1000);
+                }
+                writeValue(writer, json, "frame_us", durations[FRAME][slot] / 1000);
+                writeValue(writer, json, "steps", steps[slot]);
+                writeValue(writer, json, "bodies", bodies[slot]);
+                writeValue(writer, json, "render_calls", renderCalls[slot]);
+                writer.write(json ? (i < count - 1 ? "},\n" : "}\n") : "\n");
+            }
+            if (json) {
+                writer.write("]\n");
+            }
+        }
+    }
+
+    private static void writeValue(Writer writer, boolean json, String name, long value) throws IOException {
+        writer.write(json ? ", \"" + name + "\": " + value : "," + value);
+    }
+
+    private int slot() {
+        return (int) (frames % capacity);
+    }
+
+    private int lastSlot() {
+        return (int) ((frames - 1) % capacity);
+    }
+}
@@ -3,26 +3,40 @@
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
-import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
-import de.tum.cit.ase.bomberquest.map.Flowers;
-import de.tum.cit.ase.bomberquest.map.Player;
-import de.tum.cit.ase.bomberquest.texture.Bomb;
-import de.tum.cit.ase.bomberquest.texture.Drawable;
+import de.tum.cit.ase.bomberquest.audio.MusicTrack;
+import de.tum.cit.ase.bomberquest.audio.SoundBank;
+import de.tum.cit.ase.bomberquest.audio.SoundEvents;
+import de.tum.cit.ase.bomberquest.entity.SpriteComponent;
+import de.tum.cit.ase.bomberquest.input.SampledInput;
 import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapSnapshot;
+import de.tum.cit.ase.bomberquest.map.SnapshotHistory;
+import de.tum.cit.ase.bomberquest.profiling.FrameProfiler;
+import de.tum.cit.ase.bomberquest.simulation.RenderState;
+import de.tum.cit.ase.bomberquest.simulation.SimulationThread;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * The GameScreen class is responsible for rendering the gameplay screen.
  * It handles the game logic and rendering of the game elements.
+ * <p>
+ * The map is drawn from a {@link RenderState}, never from the map itself. Usually the map is simulated
+ * at the start of every frame and captured right after. With a threaded simulation,
+ * see {@link BomberQuestGame#setThreadedSimulation(boolean)}, a {@link SimulationThread} simulates the map
+ * and publishes the states, and everything that changes the map is handed to that thread.
+ * Either way, the sprites are drawn between their positions before and after the last step,
+ * so they move smoothly even though frames and steps do not line up.
  */
 public class GameScreen implements Screen {
     
@@ -43,13 +57,45 @@ public class GameScreen implements Screen {
     private final BomberQuestGame game;
     private final SpriteBatch spriteBatch;
     private final GameMap map;
+    /** The keyboard as the map sees it, sampled once per frame, or null while a replay is watched. */
+    private final SampledInput input;
+    /** Simulates the map on its own thread, or null if the map is simulated in between frames. */
+    private final SimulationThread simulation;
+    /** What the map looked like after its last step, drawn by this frame. */
+    private RenderState state;
+    /** The step count of the state drawn by the last frame, to count the steps in between for the profiler. */
+    private long lastStepCount;
     private final Hud hud;
     private final OrthographicCamera mapCamera;
-    private Music backgroundMusic;
-    private Sound bombSound;
-    private Sound explosionSound;
-    private Sound powerUpSound;
-    private List<Bomb> bombs;
+
+    /** How many frames the profiler keeps, 10 seconds at 60 frames per second. */
+    private static final int PROFILER_FRAMES = 600;
+    /** The length of a step in nanoseconds, to tell how far the simulation thread is into the next step. */
+    private static final float STEP_NANOS = GameMap.TIME_STEP * 1e9f;
+    /** Records how long each phase of a frame takes. Press F3 to show the timings and F4 to write them to a file. */
+    private final FrameProfiler profiler;
+    /** The floor and the walls, baked once and only updated where the map changes. */
+    private final StaticLayerCache staticLayer;
+    /** Plays the sounds of the map's events, at most a few at a time. */
+    private final SoundBank soundBank = new SoundBank();
+    private final SoundEvents soundEvents = new SoundEvents(soundBank);
+    /** How many steps apart the snapshots for rewinding are taken, half a second. */
+    private static final int SNAPSHOT_INTERVAL = 30;
+    /** How many snapshots Backspace goes back, one second. */
+    private static final int REWIND_SNAPSHOTS = 2;
+    /**
+     * The last 100 seconds of the match, 20 keyframes with 9 deltas each. Press Backspace to rewind.
+     * Like the quick save, the history is only used where the map is simulated.
+     */
+    private final SnapshotHistory history = new SnapshotHistory(20, 10);
+    private long nextSnapshotStep = 0;
+    /**
+     * The snapshot taken with F6 and restored with F7, or null.
+     * It is forgotten when the match is restarted, or rewound to before it, so it always belongs to the recorded match.
+     */
+    private ByteBuffer quickSave;
+    // The part of the map the camera can see, in tiles
+    private float visibleMinX, visibleMaxX, visibleMinY, visibleMaxY;
 
 
     /**
@@ -61,14 +107,27 @@ public GameScreen(BomberQuestGame game) {
         this.game = game;
         this.spriteBatch = game.getSpriteBatch();
         this.map = game.getMap();
-        this.hud = new Hud(spriteBatch, game.getSkin().getFont("font"));
+        this.input = game.getInput();
+        this.profiler = new FrameProfiler(PROFILER_FRAMES);
+        this.hud = new Hud(spriteBatch, game.getSkin().getFont("font"), profiler);
         // Create and configure the camera for the game view
         this.mapCamera = new OrthographicCamera();
         this.mapCamera.setToOrtho(false);
-        bombSound = Gdx.audio.newSound(Gdx.files.internal("bomb_drop.mp3"));
-        explosionSound = Gdx.audio.newSound(Gdx.files.internal("bomb_explosion.mp3"));
-        powerUpSound = Gdx.audio.newSound(Gdx.files.internal("power_up.mp3"));
-        bombs = new ArrayList<>();
+        this.staticLayer = new StaticLayerCache(map.getTileGrid(), TILE_SIZE_PX * SCALE);
+        // Everything the map publishes is handed to the sounds, the static layer and the HUD once per frame
+        map.getEvents().subscribe(soundEvents);
+        map.getEvents().subscribe(staticLayer);
+        map.getEvents().subscribe(hud);
+        this.state = new RenderState();
+        state.capture(map);
+        this.lastStepCount = state.getStepCount();
+        if (game.isThreadedSimulation()) {
+            // Paused until the screen is shown
+            this.simulation = new SimulationThread(map, this::afterStep);
+            simulation.start();
+        } else {
+            this.simulation = null;
+        }
     }
     
     /**
@@ -80,7 +139,31 @@ public void render(float deltaTime) {
         // Check for escape key press to go back to the menu
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
             game.goToMenu();
+            return; // This screen is hidden now, the match continues when it is shown again
+        }
+        if (input != null && state.isGameOver() && Gdx.input.isKeyJustPressed(Input.Keys.ENTER)) {
+            runOnSimulation(this::restart);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F3)) {
+            hud.toggleProfiler();
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F4)) {
+            writeProfile();
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F5)) {
+            runOnSimulation(this::saveRecording);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F6)) {
+            runOnSimulation(this::quickSave);
         }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.F7)) {
+            runOnSimulation(this::quickLoad);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.BACKSPACE)) {
+            runOnSimulation(this::rewind);
+        }
+        profiler.beginFrame();
+        int renderCallsBefore = spriteBatch.totalRenderCalls + staticLayer.getTotalRenderCalls();
 
         // Clear the previous frame from the screen, or else the picture smears
         ScreenUtils.clear(Color.BLACK);
@@ -88,87 +171,244 @@ public void render(float deltaTime) {
         // Cap frame time to 250ms to prevent spiral of death
         float frameTime = Math.min(deltaTime, 0.250f);
 
-        // Update the map state
-        map.tick(frameTime);
+        // Update the map state, or pick up the latest state from the simulation thread
+        profiler.begin(FrameProfiler.Phase.TICK);
+        if (input != null) {
+            input.sample();
+        }
+        float alpha;
+        if (simulation == null) {
+            map.tick(frameTime);
+            afterStep();
+            state.capture(map);
+            // The time left over for the next step says how far the frame is between the last two steps
+            alpha = state.getPhysicsTime() / GameMap.TIME_STEP;
+        } else {
+            state = simulation.acquire();
+            // The next state is due one step after this one
+            alpha = Math.min((TimeUtils.nanoTime() - state.getCaptureTime()) / STEP_NANOS, 1);
+        }
+        int player = state.getPlayerSprite();
+        if (player >= 0) {
+            soundBank.setListener(state.getX(player, alpha), state.getY(player, alpha));
+        }
+        map.getEvents().dispatch();
+        soundBank.update(frameTime);
+        profiler.end(FrameProfiler.Phase.TICK);
 
         // Update the camera
-        updateCamera();
+        profiler.begin(FrameProfiler.Phase.CAMERA);
+        updateCamera(alpha);
+        profiler.end(FrameProfiler.Phase.CAMERA);
 
         // Render the map on the screen
-        renderMap();
+        profiler.begin(FrameProfiler.Phase.MAP);
+        renderMap(alpha);
+        profiler.end(FrameProfiler.Phase.MAP);
 
         // Render the HUD on the screen
-        hud.render();
+        profiler.begin(FrameProfiler.Phase.HUD);
+        hud.render(state);
+        profiler.end(FrameProfiler.Phase.HUD);
 
-        // Update bombs and check for explosions
-        for (Bomb bomb : bombs) {
-            bomb.update(deltaTime);
+        profiler.endFrame((int) (state.getStepCount() - lastStepCount), state.getBodyCount(),
+                spriteBatch.totalRenderCalls + staticLayer.getTotalRenderCalls() - renderCallsBefore);
+        lastStepCount = state.getStepCount();
+    }
+
+    /**
+     * Runs work on the map where the map is simulated: right away, or between two steps of the simulation thread.
+     */
+    private void runOnSimulation(Runnable command) {
+        if (simulation == null) {
+            command.run();
+        } else {
+            simulation.submit(command);
         }
+    }
 
-        // Render all bombs
-        spriteBatch.begin();
-        for (Bomb bomb : bombs) {
-            if (!bomb.isExploded()) {
-                draw(spriteBatch, bomb);
-            }
+    /**
+     * Runs after every step, or after every frame if the map is simulated in between frames.
+     * Restarts a watched replay where the session was restarted and takes the snapshots for rewinding.
+     */
+    private void afterStep() {
+        if (game.continueReplay()) {
+            forgetMatch();
         }
-        spriteBatch.end();
+        recordHistory();
+    }
 
-        // Place bomb when spacebar is pressed
-        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            Player player = map.getPlayer();  // Get player from map
-            placeBomb((int) player.getX(), (int) player.getY());  // Place bomb at player's position
+    /**
+     * Takes a snapshot for rewinding every {@link #SNAPSHOT_INTERVAL} steps.
+     */
+    private void recordHistory() {
+        if (map.getStepCount() >= nextSnapshotStep) {
+            history.record(map);
+            nextSnapshotStep = map.getStepCount() + SNAPSHOT_INTERVAL;
         }
     }
 
-    public void placeBomb(int x, int y) {
-        bombs.add(new Bomb(x, y));  // Add a new bomb to the list at the specified position
+    /** Starts the match over, with Enter once it is over. */
+    private void restart() {
+        game.restartGame();
+        forgetMatch();
     }
 
+    /** Forgets the snapshots of the match before a restart, they cannot be restored into the new match. */
+    private void forgetMatch() {
+        history.clear();
+        nextSnapshotStep = 0;
+        quickSave = null;
+    }
 
+    /** Saves the session so far with F5, e.g. right after a stutter. */
+    private void saveRecording() {
+        game.saveRecording("replay-" + TimeUtils.millis());
+    }
+
+    /** Takes a snapshot of the match with F6. */
+    private void quickSave() {
+        quickSave = MapSnapshot.write(map, quickSave);
+    }
 
+    /**
+     * Goes back to the snapshot taken with F6, if there is one, with F7.
+     * A snapshot of a step that is no longer recorded is not loaded, since the replay could not reach it.
+     */
+    private void quickLoad() {
+        if (quickSave != null && game.canRestore(MapSnapshot.getStep(quickSave))) {
+            MapSnapshot.restore(map, quickSave);
+            history.clear();
+            nextSnapshotStep = 0;
+        }
+    }
+
+    /** Goes back one second with Backspace. */
+    private void rewind() {
+        if (history.rewind(map, REWIND_SNAPSHOTS)) {
+            // The snapshot rewound to is still in the history
+            nextSnapshotStep = map.getStepCount() + SNAPSHOT_INTERVAL;
+            if (quickSave != null && MapSnapshot.getStep(quickSave) > map.getStepCount()) {
+                // The steps that led to the quick save are recorded over from here on
+                quickSave = null;
+            }
+        }
+    }
+
+    /**
+     * Writes the recorded frame timings to a CSV file in the working directory.
+     */
+    private void writeProfile() {
+        FileHandle file = Gdx.files.local("profiles/frames-" + TimeUtils.millis() + ".csv");
+        try {
+            profiler.write(file);
+            Gdx.app.log("Profiler", "Wrote " + profiler.getFrameCount() + " frames to " + file.path());
+        } catch (IOException e) {
+            Gdx.app.error("Profiler", "Could not write " + file.path(), e);
+        }
+    }
 
     /**
      * Updates the camera to match the current state of the game.
-     * Currently, this just centers the camera at the origin.
+     * The camera follows the player, but stops at the edges of the map, so it never shows anything beyond them.
+     * @param alpha How far the frame is between the last two steps, from 0 to 1.
      */
-    private void updateCamera() {
-        mapCamera.setToOrtho(false);
-        mapCamera.position.x = 3.5f * TILE_SIZE_PX * SCALE;
-        mapCamera.position.y = 3.5f * TILE_SIZE_PX * SCALE;
+    private void updateCamera(float alpha) {
+        int player = state.getPlayerSprite();
+        if (player >= 0) {
+            float tileSize = TILE_SIZE_PX * SCALE;
+            // The sprite is drawn from its bottom left corner, so its center is half a tile further
+            mapCamera.position.x = clampToMap((state.getX(player, alpha) + 0.5f) * tileSize,
+                    mapCamera.viewportWidth * mapCamera.zoom, map.getTileGrid().getWidth() * tileSize);
+            mapCamera.position.y = clampToMap((state.getY(player, alpha) + 0.5f) * tileSize,
+                    mapCamera.viewportHeight * mapCamera.zoom, map.getTileGrid().getHeight() * tileSize);
+        }
         mapCamera.update(); // This is necessary to apply the changes
     }
+
+    /**
+     * Moves the center of the camera along one axis so the view stays on the map.
+     * @param center Where the camera should be centered, in pixels.
+     * @param viewSize How much of the map the camera shows along this axis, in pixels.
+     * @param mapSize The size of the map along this axis, in pixels.
+     */
+    private static float clampToMap(float center, float viewSize, float mapSize) {
+        if (mapSize <= viewSize) {
+            return mapSize / 2; // The whole map fits, so keep it in the middle of the screen
+        }
+        return MathUtils.clamp(center, viewSize / 2, mapSize - viewSize / 2);
+    }
     
-    private void renderMap() {
+    /**
+     * @param alpha How far the frame is between the last two steps, from 0 to 1.
+     */
+    private void renderMap(float alpha) {
+        // The floor and the walls are cached on the graphics card and drawn first
+        staticLayer.render(mapCamera);
+        updateVisibleArea();
+
         // This configures the spriteBatch to use the camera's perspective when rendering
         spriteBatch.setProjectionMatrix(mapCamera.combined);
         
         // Start drawing
         spriteBatch.begin();
         
-        // Render everything in the map here, in order from lowest to highest (later things appear on top)
-        // You may want to add a method to GameMap to return all the drawables in the correct order
-        for (Flowers flowers : map.getFlowers()) {
-            draw(spriteBatch, flowers);
-        }
-        draw(spriteBatch, map.getChest());
-        draw(spriteBatch, map.getPlayer());
+        // Render every entity in the map here, layer by layer from lowest to highest (later things appear on top)
+        // Objects outside of the camera's view are skipped
+        float time = state.getStepCount() * GameMap.TIME_STEP;
+        drawLayer(SpriteComponent.LAYER_GROUND, time, alpha);
+        drawLayer(SpriteComponent.LAYER_CHARACTERS, time, alpha);
         
         // Finish drawing, i.e. send the drawn items to the graphics card
         spriteBatch.end();
     }
+
+    /**
+     * Computes where objects must be to be seen by the camera, in tiles.
+     * Sprites are drawn up and to the right of their position, up to two tiles high for the characters,
+     * so the area reaches further to the left and to the bottom than the camera does.
+     */
+    private void updateVisibleArea() {
+        float tileSize = TILE_SIZE_PX * SCALE;
+        float halfWidth = mapCamera.viewportWidth * mapCamera.zoom / 2;
+        float halfHeight = mapCamera.viewportHeight * mapCamera.zoom / 2;
+        visibleMinX = (mapCamera.position.x - halfWidth) / tileSize - 1;
+        visibleMaxX = (mapCamera.position.x + halfWidth) / tileSize;
+        visibleMinY = (mapCamera.position.y - halfHeight) / tileSize - 2;
+        visibleMaxY = (mapCamera.position.y + halfHeight) / tileSize;
+    }
+
+    /**
+     * Draws the visible entities of one layer that the camera can see.
+     * @param time The time since the match started, for animations.
+     * @param alpha How far the frame is between the last two steps, from 0 to 1.
+     */
+    private void drawLayer(int layer, float time, float alpha) {
+        for (int i = 0; i < state.getSpriteCount(); i++) {
+            if (state.getLayer(i) != layer) {
+                continue;
+            }
+            float x = state.getX(i, alpha);
+            float y = state.getY(i, alpha);
+            if (x >= visibleMinX && x <= visibleMaxX && y >= visibleMinY && y <= visibleMaxY) {
+                draw(spriteBatch, state.getAppearance(i).at(time), x, y);
+            }
+        }
+    }
     
     /**
-     * Draws this object on the screen.
+     * Draws a texture on the screen.
      * The texture will be scaled by the game scale and the tile size.
      * This should only be called between spriteBatch.begin() and spriteBatch.end(), e.g. in the renderMap() method.
      * @param spriteBatch The SpriteBatch to draw with.
+     * @param texture The texture to draw.
+     * @param tileX The X coordinate of the bottom left corner, in tiles.
+     * @param tileY The Y coordinate of the bottom left corner, in tiles.
      */
-    private static void draw(SpriteBatch spriteBatch, Drawable drawable) {
-        TextureRegion texture = drawable.getCurrentAppearance();
-        // Drawable coordinates are in tiles, so we need to scale them to pixels
-        float x = drawable.getX() * TILE_SIZE_PX * SCALE;
-        float y = drawable.getY() * TILE_SIZE_PX * SCALE;
+    private static void draw(SpriteBatch spriteBatch, TextureRegion texture, float tileX, float tileY) {
+        // Entity coordinates are in tiles, so we need to scale them to pixels
+        float x = tileX * TILE_SIZE_PX * SCALE;
+        float y = tileY * TILE_SIZE_PX * SCALE;
         // Additionally scale everything by the game scale
         float width = texture.getRegionWidth() * SCALE;
         float height = texture.getRegionHeight() * SCALE;
@@ -187,31 +427,51 @@ public void resize(int width, int height) {
         hud.resize(width, height);
     }
 
-    // Unused methods from the Screen interface
+    /**
+     * Continues the music where it was paused. The match itself continues with the next render,
+     * or right away on the simulation thread.
+     */
     @Override
-    public void pause() {
+    public void show() {
+        MusicTrack.GAMEPLAY.play(); // Already loaded by the Assets, so the first frame does not stall
+        if (simulation != null) {
+            simulation.setPaused(false);
+        }
     }
 
+    /**
+     * Pauses the music and silences the effects while another screen is shown.
+     * The screen itself is kept for the life of the game, see {@link BomberQuestGame#goToGame()}.
+     */
     @Override
-    public void resume() {
+    public void hide() {
+        if (simulation != null) {
+            simulation.setPaused(true);
+        }
+        MusicTrack.GAMEPLAY.pause();
+        soundBank.stopAll();
     }
 
+    // Unused methods from the Screen interface
     @Override
-    public void show() {
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("gameplay_music.mp3"));
-        backgroundMusic.setLooping(true);
-        backgroundMusic.play();
-
+    public void pause() {
     }
 
     @Override
-    public void hide() {
+    public void resume() {
     }
 
     @Override
     public void dispose() {
-        backgroundMusic.stop();
-        backgroundMusic.dispose();
+        if (simulation != null) {
+            simulation.stop(); // The map belongs to this thread again
+        }
+        MusicTrack.GAMEPLAY.stop();
+        map.getEvents().unsubscribe(soundEvents);
+        map.getEvents().unsubscribe(staticLayer);
+        map.getEvents().unsubscribe(hud);
+        soundBank.stopAll();
+        staticLayer.dispose();
     }
 
 
@@ -3,14 +3,24 @@
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+import de.tum.cit.ase.bomberquest.event.GameEventListener;
+import de.tum.cit.ase.bomberquest.profiling.FrameProfiler;
+import de.tum.cit.ase.bomberquest.simulation.RenderState;
 
 /**
  * A Heads-Up Display (HUD) that displays information on the screen.
  * It uses a separate camera so that it is always fixed on the screen.
+ * <p>
+ * Every piece of text is laid out once into its own {@link BitmapFontCache} and only laid out again
+ * when the shown value changes, so drawing the HUD does not allocate.
+ * Numbers are written into reused {@link StringBuilder}s instead of going through String.format.
+ * The HUD also listens to the events of the map and shows a message when something important happens.
  */
-public class Hud {
+public class Hud implements GameEventListener {
     
     /** The SpriteBatch used to draw the HUD. This is the same as the one used in the GameScreen. */
     private final SpriteBatch spriteBatch;
@@ -18,13 +28,39 @@ public class Hud {
     private final BitmapFont font;
     /** The camera used to render the HUD. */
     private final OrthographicCamera camera;
-    private final GameMap gameMap;
-    
-    public Hud(SpriteBatch spriteBatch, BitmapFont font, GameMap gameMap) {
+
+    private final BitmapFontCache hintCache;
+    private final BitmapFontCache timeCache;
+    private final StringBuilder timeText = new StringBuilder(32);
+    /** The remaining time laid out into glyphs, reused every time the shown value changes. */
+    private final GlyphLayout timeLayout = new GlyphLayout();
+    /** The remaining time currently laid out in the time cache, in hundredths of a second, or -1 if there is none. */
+    private long shownHundredths = -1;
+
+    private final BitmapFontCache messageCache;
+    /** The message shown for an event, or null if there is none. */
+    private String message = null;
+    private float messageTimeLeft = 0;
+    private static final float MESSAGE_DURATION = 3f;
+
+    /** The frame timings shown in the profiler overlay. */
+    private final FrameProfiler profiler;
+    private boolean profilerVisible = false;
+    /** The overlay text, only rebuilt every few frames, so the numbers stay readable. */
+    private final StringBuilder profilerText = new StringBuilder(512);
+    private final BitmapFontCache profilerCache;
+    private int framesUntilProfilerUpdate = 0;
+    private static final int PROFILER_UPDATE_INTERVAL = 30;
+
+    public Hud(SpriteBatch spriteBatch, BitmapFont font, FrameProfiler profiler) {
         this.spriteBatch = spriteBatch;
         this.font = font;
         this.camera = new OrthographicCamera();
-        this.gameMap = gameMap;
+        this.profiler = profiler;
+        this.hintCache = font.newFontCache();
+        this.timeCache = font.newFontCache();
+        this.profilerCache = font.newFontCache();
+        this.messageCache = font.newFontCache();
     }
     
     /**
@@ -41,24 +77,133 @@ public Hud(SpriteBatch spriteBatch, BitmapFont font, GameMap gameMap) {
         // Finish drawing
         spriteBatch.end();
     }*/
-    public void render() {
+    public void render(RenderState state) {
         // Render from the camera's perspective
         spriteBatch.setProjectionMatrix(camera.combined);
         // Start drawing
         spriteBatch.begin();
 
-        // Draw the remaining time on the screen
-        float remainingTime = gameMap.getRemainingTime();
-        font.draw(spriteBatch, "Time Remaining: " + String.format("%.2f", remainingTime) + "s", 10, Gdx.graphics.getHeight() - 40);
+        // Draw the remaining time on the screen, laid out again only when the shown value changes.
+        // Rounded like String.format("%.2f") did, so e.g. 1.999 seconds show as 2.00
+        long hundredths = Math.round(Math.max(state.getRemainingTime(), 0) * 100d);
+        if (hundredths != shownHundredths) {
+            updateTimeText(hundredths);
+        }
+        timeCache.draw(spriteBatch);
 
         // Draw other HUD elements (e.g., instructions)
-        font.draw(spriteBatch, "Press Esc to Pause!", 10, Gdx.graphics.getHeight() - 10);
+        hintCache.draw(spriteBatch);
+
+        // Draw the message of the last important event for a few seconds
+        if (messageTimeLeft > 0) {
+            messageTimeLeft -= Gdx.graphics.getDeltaTime();
+            messageCache.draw(spriteBatch);
+        }
+
+        if (profilerVisible) {
+            if (--framesUntilProfilerUpdate <= 0) {
+                updateProfilerText();
+                profilerCache.setText(profilerText, 10, Gdx.graphics.getHeight() - 100);
+                framesUntilProfilerUpdate = PROFILER_UPDATE_INTERVAL;
+            }
+            profilerCache.draw(spriteBatch);
+        }
 
         // Finish drawing
         spriteBatch.end();
     }
 
 
+    /**
+     * Shows a message when the exit is revealed or the player dies.
+     */
+    @Override
+    public void onEvent(GameEvent event, int x, int y) {
+        if (event == GameEvent.MAP_RESTORED) {
+            // Whatever the message was about may not have happened any more
+            messageTimeLeft = 0;
+            return;
+        }
+        String text = switch (event) {
+            case EXIT_REVEALED -> "The exit has been revealed!";
+            case PLAYER_DIED -> "You died! Press Enter to try again.";
+            default -> null;
+        };
+        if (text != null) {
+            message = text;
+            messageTimeLeft = MESSAGE_DURATION;
+            messageCache.setText(message, 10, Gdx.graphics.getHeight() - 70);
+        }
+    }
+
+    /**
+     * Writes the remaining time with two decimals into the time text and lays it out.
+     */
+    private void updateTimeText(long hundredths) {
+        timeText.setLength(0);
+        timeText.append("Time Remaining: ").append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            timeText.append('0');
+        }
+        timeText.append(fraction).append('s');
+        timeLayout.setText(font, timeText);
+        timeCache.setText(timeLayout, 10, Gdx.graphics.getHeight() - 40);
+        shownHundredths = hundredths;
+    }
+
+    /** Returns the remaining time as it is shown. */
+    CharSequence getTimeText() {
+        return timeText;
+    }
+
+    /**
+     * Shows or hides the frame timings.
+     */
+    public void toggleProfiler() {
+        profilerVisible = !profilerVisible;
+        framesUntilProfilerUpdate = 0;
+    }
+
+    /**
+     * Writes the median, 99th percentile and maximum of every phase of the frame into the overlay text.
+     */
+    private void updateProfilerText() {
+        long[][] statistics = profiler.computeStatistics();
+        profilerText.setLength(0);
+        profilerText.append("Frame timings (ms)  p50 / p99 / max\n");
+        for (FrameProfiler.Phase phase : FrameProfiler.Phase.values()) {
+            appendStatistics(phase.getLabel(), statistics[phase.ordinal()]);
+        }
+        appendStatistics("frame", statistics[FrameProfiler.FRAME]);
+        profilerText.append("steps ").append(profiler.getLastSteps())
+                .append("  bodies ").append(profiler.getLastBodies())
+                .append("  render calls ").append(profiler.getLastRenderCalls());
+    }
+
+    private void appendStatistics(String label, long[] values) {
+        profilerText.append(label).append(": ");
+        appendMillis(values[FrameProfiler.P50]);
+        profilerText.append(" / ");
+        appendMillis(values[FrameProfiler.P99]);
+        profilerText.append(" / ");
+        appendMillis(values[FrameProfiler.MAX]);
+        profilerText.append('\n');
+    }
+
+    /**
+     * Appends a duration in milliseconds with two decimals, without going through String.format.
+     */
+    private void appendMillis(long nanos) {
+        long hundredths = nanos / 10_000;
+        profilerText.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            profilerText.append('0');
+        }
+        profilerText.append(fraction);
+    }
+
     /**
      * Resizes the HUD when the screen size changes.
      * This is called when the window is resized.
@@ -67,6 +212,13 @@ public void render() {
      */
     public void resize(int width, int height) {
         camera.setToOrtho(false, width, height);
+        // The text is placed relative to the top of the screen, so lay everything out again
+        hintCache.setText("Press Esc to Pause!", 10, height - 10);
+        if (message != null) {
+            messageCache.setText(message, 10, height - 70);
+        }
+        shownHundredths = -1;
+        framesUntilProfilerUpdate = 0;
     }
     
 }
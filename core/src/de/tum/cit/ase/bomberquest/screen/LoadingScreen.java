@@ -0,0 +1,102 @@
+package de.tum.cit.ase.bomberquest.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import de.tum.cit.ase.bomberquest.Assets;
+import de.tum.cit.ase.bomberquest.BomberQuestGame;
+
+/**
+ * The LoadingScreen is shown while the {@link Assets} are loaded in the background.
+ * It draws a progress bar and tells the game once everything is there.
+ * The skin is not loaded yet, so this screen only uses libGDX's built-in font.
+ */
+public class LoadingScreen implements Screen {
+
+    private static final float BAR_WIDTH = 400;
+    private static final float BAR_HEIGHT = 24;
+
+    private final BomberQuestGame game;
+    private final Assets assets;
+    private final SpriteBatch spriteBatch;
+    private final OrthographicCamera camera;
+    private final ShapeRenderer shapeRenderer;
+    private final BitmapFont font;
+
+    /**
+     * @param game The main game class, which is told when loading has finished.
+     * @param assets The assets to load.
+     */
+    public LoadingScreen(BomberQuestGame game, Assets assets) {
+        this.game = game;
+        this.assets = assets;
+        this.spriteBatch = game.getSpriteBatch();
+        this.camera = new OrthographicCamera();
+        this.shapeRenderer = new ShapeRenderer();
+        this.font = new BitmapFont();
+    }
+
+    /**
+     * Loads for a few milliseconds and draws the progress so far.
+     * @param deltaTime The time in seconds since the last render.
+     */
+    @Override
+    public void render(float deltaTime) {
+        if (assets.update()) {
+            game.onAssetsLoaded(); // This replaces and disposes this screen, so stop here
+            return;
+        }
+        ScreenUtils.clear(Color.BLACK);
+        float progress = assets.getProgress();
+        float x = (camera.viewportWidth - BAR_WIDTH) / 2;
+        float y = (camera.viewportHeight - BAR_HEIGHT) / 2;
+
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        shapeRenderer.setColor(Color.WHITE);
+        shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.end();
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.rect(x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        spriteBatch.setProjectionMatrix(camera.combined);
+        spriteBatch.begin();
+        font.draw(spriteBatch, "Loading... " + (int) (progress * 100) + "%", x, y - 10);
+        spriteBatch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        camera.setToOrtho(false, width, height);
+    }
+
+    @Override
+    public void show() {
+        resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+        font.dispose();
+    }
+
+    // The following methods are part of the Screen interface but are not used in this screen.
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+}
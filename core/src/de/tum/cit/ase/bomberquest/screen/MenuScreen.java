@@ -1,8 +1,6 @@
 package de.tum.cit.ase.bomberquest.screen;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.scenes.scene2d.Actor;
@@ -15,6 +13,7 @@
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.ase.bomberquest.BomberQuestGame;
+import de.tum.cit.ase.bomberquest.audio.MusicTrack;
 
 /**
  * The MenuScreen class is responsible for displaying the main menu of the game.
@@ -23,7 +22,6 @@
 public class MenuScreen implements Screen {
 
     private final Stage stage;
-    private Music menuMusic;
 
     /**
      * Constructor for MenuScreen. Sets up the camera, viewport, stage, and UI elements.
@@ -78,33 +76,37 @@ public void resize(int width, int height) {
         stage.getViewport().update(width, height, true); // Update the stage viewport on resize
     }
 
+    /**
+     * Disposes the stage. The screen is kept for the life of the game, so this only happens when the game is closed.
+     * The sprite batch belongs to the game and is not disposed with the stage.
+     */
     @Override
     public void dispose() {
-        // Dispose of the stage when screen is disposed
-        //stage.dispose();
-        menuMusic.stop();
-        menuMusic.dispose();
+        stage.dispose();
+        MusicTrack.MENU.stop();
     }
 
     @Override
     public void show() {
         // Set the input processor so the stage can receive input events
         //Gdx.input.setInputProcessor(stage);
-        menuMusic = Gdx.audio.newMusic(Gdx.files.internal("menu_music.mp3"));
-        menuMusic.setLooping(true);
-        menuMusic.play();
+        MusicTrack.MENU.play(); // Already loaded by the Assets, so this does not stall, and continues where it was paused
     }
 
-    // The following methods are part of the Screen interface but are not used in this screen.
+    /**
+     * Pauses the menu music while the game is shown. The screen itself is kept, see {@link BomberQuestGame#goToMenu()}.
+     */
     @Override
-    public void pause() {
+    public void hide() {
+        MusicTrack.MENU.pause();
     }
 
+    // The following methods are part of the Screen interface but are not used in this screen.
     @Override
-    public void resume() {
+    public void pause() {
     }
 
     @Override
-    public void hide() {
+    public void resume() {
     }
 }
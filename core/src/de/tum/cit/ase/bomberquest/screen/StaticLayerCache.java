@@ -0,0 +1,244 @@
+package de.tum.cit.ase.bomberquest.screen;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+import de.tum.cit.ase.bomberquest.event.GameEventListener;
+import de.tum.cit.ase.bomberquest.map.TileGrid;
+import de.tum.cit.ase.bomberquest.texture.Textures;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the parts of the map that rarely change, the floor and the walls, on the graphics card.
+ * The map is split into square chunks, and the sprites of a chunk are baked once into a slot of a {@link SpriteCache}.
+ * Drawing a chunk then costs a single call, no matter how many tiles it has.
+ * <p>
+ * Only the chunks the camera can see are kept. The cache has a slot for as many chunks as the camera can see at once,
+ * and a chunk that scrolls into view is baked into the slot of a chunk that has scrolled out of view the longest ago.
+ * So the cache takes as much memory on a huge map as on a small one. Every slot is created with room for a full chunk,
+ * so any chunk can be baked into it in place.
+ * When a wall is destroyed, only its chunk is baked again, and only if it is in the cache.
+ */
+public class StaticLayerCache implements GameEventListener {
+
+    /** The width and height of a chunk in tiles. */
+    public static final int CHUNK_SIZE = 16;
+    private static final int SPRITES_PER_CHUNK = CHUNK_SIZE * CHUNK_SIZE;
+    private static final int NONE = -1;
+
+    private final TileGrid tiles;
+    private final float tileSize;
+    private final int chunksX;
+    private final int chunksY;
+    /** Holds the baked chunks, created by the first frame and again whenever the camera can see more chunks than it has slots. */
+    private SpriteCache cache;
+    /** The id of each slot in the sprite cache. */
+    private int[] slotIds = new int[0];
+    /** The chunk baked into each slot, or {@link #NONE}. */
+    private int[] slotChunks = new int[0];
+    /** The frame in which each slot was last drawn, to find the one that has been out of view the longest. */
+    private int[] slotFrames = new int[0];
+    /** The slot of each chunk, or {@link #NONE} if the chunk is not in the cache. */
+    private final int[] chunkSlots;
+    /** Whether a tile of the chunk changed since it was baked. */
+    private final boolean[] dirty;
+    private int frame = 0;
+    private int visibleChunks = 0;
+    /** The draw calls of the caches that have been replaced by a larger one. */
+    private int retiredRenderCalls = 0;
+
+    /**
+     * Creates the layer. The chunks are baked when the camera first sees them.
+     * @param tiles The tiles of the map.
+     * @param tileSize The size of a tile on the screen, in pixels.
+     */
+    public StaticLayerCache(TileGrid tiles, float tileSize) {
+        this.tiles = tiles;
+        this.tileSize = tileSize;
+        this.chunksX = (tiles.getWidth() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunksY = (tiles.getHeight() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkSlots = new int[chunksX * chunksY];
+        this.dirty = new boolean[chunkSlots.length];
+        Arrays.fill(chunkSlots, NONE);
+    }
+
+    /**
+     * Marks the chunk of a destroyed wall, so it is baked again before it is drawn next.
+     */
+    @Override
+    public void onEvent(GameEvent event, int x, int y) {
+        if (event == GameEvent.WALL_DESTROYED) {
+            dirty[(y / CHUNK_SIZE) * chunksX + x / CHUNK_SIZE] = true;
+        } else if (event == GameEvent.MAP_RESTORED || event == GameEvent.EVENTS_DROPPED) {
+            // Walls may have come back anywhere, or the events about destroyed walls are lost
+            Arrays.fill(dirty, true);
+        }
+    }
+
+    /**
+     * Draws the chunks the camera can see, after baking the ones that came into view or changed.
+     */
+    public void render(OrthographicCamera camera) {
+        // The part of the map the camera can see, in tiles. Tiles are drawn from their coordinates up and to the right.
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        int minChunkX = toChunk(camera.position.x - halfWidth, chunksX);
+        int maxChunkX = toChunk(camera.position.x + halfWidth, chunksX);
+        int minChunkY = toChunk(camera.position.y - halfHeight, chunksY);
+        int maxChunkY = toChunk(camera.position.y + halfHeight, chunksY);
+        ensureSlots(halfWidth * 2, halfHeight * 2);
+        frame++;
+
+        // Caches can only be changed outside of begin() and end().
+        // The chunks that stay in view keep their slots, so they are claimed before any slot is handed out.
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                int slot = chunkSlots[chunkY * chunksX + chunkX];
+                if (slot != NONE) {
+                    slotFrames[slot] = frame;
+                }
+            }
+        }
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                int chunk = chunkY * chunksX + chunkX;
+                if (chunkSlots[chunk] == NONE) {
+                    bake(chunk, oldestSlot());
+                } else if (dirty[chunk]) {
+                    bake(chunk, chunkSlots[chunk]);
+                }
+            }
+        }
+
+        visibleChunks = 0;
+        cache.setProjectionMatrix(camera.combined);
+        cache.begin();
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                cache.draw(slotIds[chunkSlots[chunkY * chunksX + chunkX]]);
+                visibleChunks++;
+            }
+        }
+        cache.end();
+    }
+
+    /**
+     * Makes sure there is a slot for every chunk a view of the given size can overlap.
+     * If there are too few, e.g. the first time or after the window has grown, the cache is created again.
+     * @param viewWidth The width of the view, in pixels.
+     * @param viewHeight The height of the view, in pixels.
+     */
+    private void ensureSlots(float viewWidth, float viewHeight) {
+        float chunkSize = CHUNK_SIZE * tileSize;
+        int slotCount = Math.min((int) Math.ceil(viewWidth / chunkSize) + 1, chunksX)
+                * Math.min((int) Math.ceil(viewHeight / chunkSize) + 1, chunksY);
+        if (cache != null && slotIds.length >= slotCount) {
+            return;
+        }
+        if (cache != null) {
+            retiredRenderCalls += cache.totalRenderCalls;
+            cache.dispose();
+        }
+        // One sprite per tile, without indices there is no upper limit for the size of the cache
+        cache = new SpriteCache(slotCount * SPRITES_PER_CHUNK, false);
+        slotIds = new int[slotCount];
+        slotChunks = new int[slotCount];
+        slotFrames = new int[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            // A redefined cache may not hold more sprites than at first, so every slot starts out with a full chunk
+            cache.beginCache();
+            for (int i = 0; i < SPRITES_PER_CHUNK; i++) {
+                cache.add(Textures.FLOWERS, 0, 0, 0, 0);
+            }
+            slotIds[slot] = cache.endCache();
+        }
+        Arrays.fill(slotChunks, NONE);
+        Arrays.fill(chunkSlots, NONE);
+    }
+
+    /**
+     * Returns the slot that has been drawn the longest ago. Since there are enough slots for everything the camera sees,
+     * it is never one that is in view.
+     */
+    private int oldestSlot() {
+        int oldest = 0;
+        for (int slot = 1; slot < slotFrames.length; slot++) {
+            if (slotFrames[slot] < slotFrames[oldest]) {
+                oldest = slot;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Bakes the chunk into the slot, taking the slot away from the chunk that was baked into it before.
+     */
+    private void bake(int chunk, int slot) {
+        if (slotChunks[slot] != NONE) {
+            chunkSlots[slotChunks[slot]] = NONE;
+        }
+        cache.beginCache(slotIds[slot]);
+        addSprites(chunk);
+        cache.endCache();
+        slotChunks[slot] = chunk;
+        slotFrames[slot] = frame;
+        chunkSlots[chunk] = slot;
+        dirty[chunk] = false;
+    }
+
+    /**
+     * Returns the number of chunks drawn in the last frame.
+     */
+    public int getVisibleChunks() {
+        return visibleChunks;
+    }
+
+    /**
+     * Returns the number of draw calls sent to the graphics card so far.
+     */
+    public int getTotalRenderCalls() {
+        return retiredRenderCalls + (cache == null ? 0 : cache.totalRenderCalls);
+    }
+
+    private int toChunk(float pixels, int chunks) {
+        return MathUtils.clamp(MathUtils.floor(pixels / tileSize) / CHUNK_SIZE, 0, chunks - 1);
+    }
+
+    /**
+     * Adds one sprite for every tile of the chunk to the cache that is currently being built.
+     */
+    private void addSprites(int chunk) {
+        int startX = (chunk % chunksX) * CHUNK_SIZE;
+        int startY = (chunk / chunksX) * CHUNK_SIZE;
+        int endX = Math.min(startX + CHUNK_SIZE, tiles.getWidth());
+        int endY = Math.min(startY + CHUNK_SIZE, tiles.getHeight());
+        for (int y = startY; y < endY; y++) {
+            for (int x = startX; x < endX; x++) {
+                TextureRegion texture = appearanceOf(x, y);
+                cache.add(texture, x * tileSize, y * tileSize, tileSize, tileSize);
+            }
+        }
+    }
+
+    /**
+     * Returns what a tile looks like: a wall if there is one, otherwise the flowers covering the floor.
+     */
+    private TextureRegion appearanceOf(int x, int y) {
+        if (tiles.getType(x, y) == TileGrid.INDESTRUCTIBLE_WALL) {
+            return Textures.INDESTRUCTIBLE_WALL;
+        }
+        if (tiles.isDestructible(x, y)) {
+            return Textures.DESTRUCTIBLE_WALL;
+        }
+        return Textures.FLOWERS;
+    }
+
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+        }
+    }
+}
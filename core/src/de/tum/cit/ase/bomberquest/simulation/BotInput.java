@@ -0,0 +1,102 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.Player;
+import de.tum.cit.ase.bomberquest.map.TileGrid;
+
+/**
+ * A simple computer player for automated matches.
+ * It wanders around, now and then drops a bomb next to a destructible wall and then runs away from it.
+ * It is not meant to play well, only to play like a careless human would, with its own seeded random generator,
+ * so a match with the same seed always plays out the same.
+ */
+public class BotInput implements PlayerInput {
+
+    private static final int[] DIRECTIONS = {UP, DOWN, LEFT, RIGHT};
+    /** The bot walks in one direction for at least this many steps before it changes its mind. */
+    private static final int MIN_WALK_STEPS = 15;
+    private static final int MAX_WALK_STEPS = 60;
+    /** After dropping a bomb, the bot runs for this many steps without dropping another one. */
+    private static final int FLEE_STEPS = 90;
+    /** On average, the bot drops a bomb once in this many steps while standing next to a destructible wall. */
+    private static final int BOMB_CHANCE = 30;
+
+    private final RandomXS128 random;
+    private GameMap map;
+    private int direction = 0;
+    private int walkSteps = 0;
+    private int fleeSteps = 0;
+
+    /**
+     * Creates a bot. It must be given its map with {@link #setMap(GameMap)} before the first step.
+     * @param seed The seed for the bot's decisions.
+     */
+    public BotInput(long seed) {
+        this.random = new RandomXS128(seed);
+    }
+
+    /**
+     * Sets the map the bot plays on.
+     * The map needs its input when it is created, so the bot only learns about it afterwards.
+     */
+    public void setMap(GameMap map) {
+        this.map = map;
+    }
+
+    @Override
+    public int poll(long step) {
+        Player player = map.getPlayer();
+        TileGrid tiles = map.getTileGrid();
+        int x = MathUtils.round(player.getX());
+        int y = MathUtils.round(player.getY());
+
+        int buttons = 0;
+        if (fleeSteps > 0) {
+            fleeSteps--;
+        } else if (isNextToDestructibleWall(tiles, x, y) && random.nextInt(BOMB_CHANCE) == 0) {
+            buttons |= BOMB;
+            fleeSteps = FLEE_STEPS;
+            walkSteps = 0;
+        }
+
+        if (walkSteps <= 0 || isBlocked(tiles, x, y, direction)) {
+            chooseDirection(tiles, x, y);
+        }
+        walkSteps--;
+        return buttons | direction;
+    }
+
+    /**
+     * Picks a random direction that is not blocked by a wall, if there is one.
+     */
+    private void chooseDirection(TileGrid tiles, int x, int y) {
+        int start = random.nextInt(DIRECTIONS.length);
+        direction = 0;
+        for (int i = 0; i < DIRECTIONS.length; i++) {
+            int candidate = DIRECTIONS[(start + i) % DIRECTIONS.length];
+            if (!isBlocked(tiles, x, y, candidate)) {
+                direction = candidate;
+                break;
+            }
+        }
+        walkSteps = MIN_WALK_STEPS + random.nextInt(MAX_WALK_STEPS - MIN_WALK_STEPS);
+    }
+
+    private static boolean isBlocked(TileGrid tiles, int x, int y, int direction) {
+        return switch (direction) {
+            case UP -> tiles.isSolid(x, y + 1);
+            case DOWN -> tiles.isSolid(x, y - 1);
+            case LEFT -> tiles.isSolid(x - 1, y);
+            case RIGHT -> tiles.isSolid(x + 1, y);
+            default -> true;
+        };
+    }
+
+    private static boolean isNextToDestructibleWall(TileGrid tiles, int x, int y) {
+        return tiles.isDestructible(x + 1, y) || tiles.isDestructible(x - 1, y)
+                || tiles.isDestructible(x, y + 1) || tiles.isDestructible(x, y - 1);
+    }
+}
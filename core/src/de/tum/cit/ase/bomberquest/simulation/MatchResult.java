@@ -0,0 +1,13 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+/**
+ * How a simulated match ended.
+ */
+public enum MatchResult {
+    /** The player reached the exit after defeating all enemies. */
+    WIN,
+    /** The player was killed by an explosion or an enemy. */
+    LOSS,
+    /** The countdown ran out. */
+    TIMEOUT
+}
@@ -0,0 +1,87 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
+import de.tum.cit.ase.bomberquest.map.MapData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Plays many automated matches in parallel, e.g. to balance the rules or to soak test the simulation.
+ * Every match gets its own copy of the map and its own {@link GameMap} with its own Box2D world,
+ * so matches share no state and the throughput grows with the number of cores.
+ * <p>
+ * Box2D has to be initialized with {@code Box2D.init()} before any match is played.
+ */
+public class MatchRunner {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism The number of matches that are played at the same time.
+     */
+    public MatchRunner(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Plays the given number of matches on the map and waits for all of them to finish.
+     * Match {@code i} is played with the seed {@code seed + i}, so a run can be repeated exactly.
+     * @param mapData The map to play on. It is copied for every match and not changed.
+     * @param rules The rules of all matches.
+     * @param matches The number of matches to play.
+     * @param seed The seed of the first match.
+     * @return The results of all matches.
+     */
+    public MatchStatistics run(MapData mapData, GameRules rules, int matches, long seed) {
+        MatchStatistics statistics = new MatchStatistics();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(matches);
+        for (int i = 0; i < matches; i++) {
+            long matchSeed = seed + i;
+            tasks.add(pool.submit(() -> play(mapData, rules, matchSeed, statistics)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return statistics;
+    }
+
+    /**
+     * Plays a single match with a {@link BotInput} on the current thread until it is over.
+     * The events of the match are handed to the statistics after every step.
+     * @param mapData The map to play on. It is copied and not changed.
+     * @param rules The rules of the match.
+     * @param seed The seed for the map and the bot.
+     * @param statistics Where the result of the match is recorded.
+     * @return How the match ended.
+     */
+    public static MatchResult play(MapData mapData, GameRules rules, long seed, MatchStatistics statistics) {
+        BotInput bot = new BotInput(~seed);
+        GameMap map = new GameMap(mapData.copy(), seed, bot, rules);
+        bot.setMap(map);
+        map.getEvents().subscribe(statistics);
+        try {
+            while (!map.isGameOver()) {
+                map.step();
+                map.getEvents().dispatch();
+            }
+            MatchResult result = map.isWon() ? MatchResult.WIN
+                    : map.getPlayer().isDead() ? MatchResult.LOSS
+                    : MatchResult.TIMEOUT;
+            statistics.record(result, map.getStepCount());
+            return result;
+        } finally {
+            map.dispose();
+        }
+    }
+
+    /**
+     * Stops the worker threads. The runner cannot be used afterwards.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
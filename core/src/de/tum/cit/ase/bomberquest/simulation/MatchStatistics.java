@@ -0,0 +1,91 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+import de.tum.cit.ase.bomberquest.event.GameEvent;
+import de.tum.cit.ase.bomberquest.event.GameEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the results of many matches.
+ * Matches running on different threads can record their results at the same time without blocking each other.
+ * Subscribed to the events of a match, it also counts the bombs placed and the walls destroyed.
+ */
+public class MatchStatistics implements GameEventListener {
+
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder losses = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder steps = new LongAdder();
+    private final LongAdder bombs = new LongAdder();
+    private final LongAdder wallsDestroyed = new LongAdder();
+
+    /**
+     * Records the result of a finished match.
+     * @param result How the match ended.
+     * @param stepCount How many steps the match took.
+     */
+    public void record(MatchResult result, long stepCount) {
+        switch (result) {
+            case WIN -> wins.increment();
+            case LOSS -> losses.increment();
+            case TIMEOUT -> timeouts.increment();
+        }
+        steps.add(stepCount);
+    }
+
+    public long getWins() {
+        return wins.sum();
+    }
+
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /** Returns the number of matches recorded so far. */
+    public long getMatches() {
+        return getWins() + getLosses() + getTimeouts();
+    }
+
+    /** Returns the number of steps simulated in all recorded matches together. */
+    public long getSteps() {
+        return steps.sum();
+    }
+
+    /** Returns the number of bombs placed in all recorded matches together. */
+    public long getBombs() {
+        return bombs.sum();
+    }
+
+    /** Returns the number of walls destroyed in all recorded matches together. */
+    public long getWallsDestroyed() {
+        return wallsDestroyed.sum();
+    }
+
+    /**
+     * Counts the bombs and walls of a match. Matches on different threads may call this at the same time.
+     */
+    @Override
+    public void onEvent(GameEvent event, int x, int y) {
+        switch (event) {
+            case BOMB_PLACED -> bombs.increment();
+            case WALL_DESTROYED -> wallsDestroyed.increment();
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        long matches = Math.max(1, getMatches());
+        return String.format("%d matches: %d wins (%.1f%%), %d losses (%.1f%%), %d timeouts (%.1f%%), %.0f steps, %.1f bombs, %.1f walls destroyed per match",
+                getMatches(),
+                getWins(), 100.0 * getWins() / matches,
+                getLosses(), 100.0 * getLosses() / matches,
+                getTimeouts(), 100.0 * getTimeouts() / matches,
+                (double) getSteps() / matches, (double) getBombs() / matches, (double) getWallsDestroyed() / matches);
+    }
+}
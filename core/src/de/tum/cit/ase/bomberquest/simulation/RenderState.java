@@ -0,0 +1,162 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.utils.ImmutableArray;
+import de.tum.cit.ase.bomberquest.entity.Mappers;
+import de.tum.cit.ase.bomberquest.entity.PositionComponent;
+import de.tum.cit.ase.bomberquest.entity.SpriteComponent;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.texture.Appearance;
+
+import java.util.Arrays;
+
+/**
+ * Everything the renderer needs from a {@link GameMap} after a step: the visible sprites with their positions
+ * before and after the step, and the values shown by the HUD.
+ * <p>
+ * The renderer only ever reads a render state, never the map, so the map can be simulated on another thread
+ * while a frame is drawn, see {@link SimulationThread}. The sprites are stored in parallel arrays that only grow,
+ * so capturing a state does not allocate once the arrays are large enough.
+ */
+public class RenderState {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int spriteCount = 0;
+    private Appearance[] appearances = new Appearance[INITIAL_CAPACITY];
+    private int[] layers = new int[INITIAL_CAPACITY];
+    // Where each sprite was before and after the step, in tiles
+    private float[] prevXs = new float[INITIAL_CAPACITY];
+    private float[] prevYs = new float[INITIAL_CAPACITY];
+    private float[] xs = new float[INITIAL_CAPACITY];
+    private float[] ys = new float[INITIAL_CAPACITY];
+    /** The index of the player's sprite, or -1 if it is not visible. */
+    private int playerSprite = -1;
+
+    private long stepCount;
+    private float physicsTime;
+    private float remainingTime;
+    private boolean gameOver;
+    private boolean won;
+    private int bodyCount;
+    /** When the state was captured, see {@link System#nanoTime()}. */
+    private long captureTime;
+
+    /**
+     * Copies the current state of the map. Must be called on the thread that simulates the map.
+     */
+    public void capture(GameMap map) {
+        ImmutableArray<Entity> sprites = map.getSprites();
+        ensureCapacity(sprites.size());
+        spriteCount = 0;
+        playerSprite = -1;
+        for (int i = 0; i < sprites.size(); i++) {
+            Entity entity = sprites.get(i);
+            SpriteComponent sprite = Mappers.SPRITE.get(entity);
+            if (!sprite.visible) {
+                continue;
+            }
+            PositionComponent position = Mappers.POSITION.get(entity);
+            if (sprite.appearance == Appearance.PLAYER) {
+                playerSprite = spriteCount;
+            }
+            appearances[spriteCount] = sprite.appearance;
+            layers[spriteCount] = sprite.layer;
+            prevXs[spriteCount] = position.prevX;
+            prevYs[spriteCount] = position.prevY;
+            xs[spriteCount] = position.x;
+            ys[spriteCount] = position.y;
+            spriteCount++;
+        }
+        // Drop the references to appearances that are gone, like in an Array
+        Arrays.fill(appearances, spriteCount, appearances.length, null);
+
+        stepCount = map.getStepCount();
+        physicsTime = map.getPhysicsTime();
+        remainingTime = map.getRemainingTime();
+        gameOver = map.isGameOver();
+        won = map.isWon();
+        bodyCount = map.getWorld().getBodyCount();
+        captureTime = System.nanoTime();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= appearances.length) {
+            return;
+        }
+        int size = Math.max(capacity, appearances.length * 2);
+        appearances = Arrays.copyOf(appearances, size);
+        layers = Arrays.copyOf(layers, size);
+        prevXs = Arrays.copyOf(prevXs, size);
+        prevYs = Arrays.copyOf(prevYs, size);
+        xs = Arrays.copyOf(xs, size);
+        ys = Arrays.copyOf(ys, size);
+    }
+
+    /** Returns the number of visible sprites. */
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+
+    public Appearance getAppearance(int sprite) {
+        return appearances[sprite];
+    }
+
+    /** Returns the layer of the sprite, see {@link SpriteComponent#layer}. */
+    public int getLayer(int sprite) {
+        return layers[sprite];
+    }
+
+    /**
+     * Returns where the sprite is drawn, in tiles.
+     * @param alpha How far the time being drawn is between the last two steps, from 0 (before) to 1 (after).
+     */
+    public float getX(int sprite, float alpha) {
+        return prevXs[sprite] + (xs[sprite] - prevXs[sprite]) * alpha;
+    }
+
+    /**
+     * Returns where the sprite is drawn, in tiles.
+     * @param alpha How far the time being drawn is between the last two steps, from 0 (before) to 1 (after).
+     */
+    public float getY(int sprite, float alpha) {
+        return prevYs[sprite] + (ys[sprite] - prevYs[sprite]) * alpha;
+    }
+
+    /** Returns the index of the player's sprite, or -1 if it is not visible. */
+    public int getPlayerSprite() {
+        return playerSprite;
+    }
+
+    /** Returns the number of steps the map had simulated. */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /** Returns the time the map had left over for the next step, see {@link GameMap#tick(float)}. */
+    public float getPhysicsTime() {
+        return physicsTime;
+    }
+
+    public float getRemainingTime() {
+        return remainingTime;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    /** Returns the number of Box2D bodies, for the profiler. */
+    public int getBodyCount() {
+        return bodyCount;
+    }
+
+    /** Returns when the state was captured, see {@link System#nanoTime()}. */
+    public long getCaptureTime() {
+        return captureTime;
+    }
+}
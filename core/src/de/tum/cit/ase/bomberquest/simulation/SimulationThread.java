@@ -0,0 +1,170 @@
+package de.tum.cit.ase.bomberquest.simulation;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Simulates a {@link GameMap} on its own thread at a fixed rate of one step per {@link GameMap#TIME_STEP},
+ * so a slow step does not delay the frame, and the simulation and the renderer can run on different cores.
+ * <p>
+ * After every batch of steps, the map is captured into a {@link RenderState}, which the render thread picks up
+ * with {@link #acquire()}. The states are triple buffered: the simulation writes into its back state,
+ * the renderer reads its front state, and the third state holds the latest one between the two.
+ * Handing a state over swaps a single index, so neither thread ever waits for the other.
+ * <p>
+ * Once the thread is started, it owns the map: everything else that changes the map, like restarting the match or
+ * restoring a snapshot, has to be {@link #submit submitted} and is run between two steps.
+ * The map's events are still dispatched on the render thread, since the {@link de.tum.cit.ase.bomberquest.event.EventBus}
+ * allows one publishing and one dispatching thread.
+ */
+public class SimulationThread {
+
+    private static final long STEP_NANOS = (long) (GameMap.TIME_STEP * TimeUnit.SECONDS.toNanos(1));
+    /** How many steps are caught up at once after a stall before the missed time is dropped, 250 ms. */
+    private static final int MAX_CATCH_UP = 15;
+    /** Set in {@link #latest} when the state has been published but not yet acquired. */
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final GameMap map;
+    private final RenderState[] states = {new RenderState(), new RenderState(), new RenderState()};
+    /** The state that was published last, and whether it is {@link #FRESH}. */
+    private final AtomicInteger latest = new AtomicInteger(0);
+    /** The state the simulation writes into next. Only used by the simulation thread. */
+    private int back = 1;
+    /** The state the renderer reads. Only used by the render thread. */
+    private int front = 2;
+
+    /** Work on the map from other threads, run between two steps. */
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    /** Run after every step, e.g. to take snapshots, or null. */
+    private final Runnable afterStep;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile boolean paused = true;
+    /** What stopped the simulation, reported on the render thread by {@link #acquire()}. */
+    private volatile Throwable failure;
+
+    /**
+     * Creates the thread, paused. Call {@link #start()} and then {@link #setPaused(boolean) resume} it.
+     * @param map The map to simulate. From now on, only the simulation thread may change it.
+     * @param afterStep Run on the simulation thread after every step, or null.
+     */
+    public SimulationThread(GameMap map, Runnable afterStep) {
+        this.map = map;
+        this.afterStep = afterStep;
+        states[0].capture(map);
+        states[2].capture(map);
+        this.thread = new Thread(this::run, "Simulation");
+        thread.setDaemon(true); // Never keep the game alive after the window was closed
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            long nextStep = System.nanoTime();
+            while (running) {
+                runCommands();
+                long now = System.nanoTime();
+                if (paused) {
+                    nextStep = now; // Continue where the match was left, instead of catching up the pause
+                    LockSupport.parkNanos(STEP_NANOS);
+                    continue;
+                }
+                if (now < nextStep) {
+                    LockSupport.parkNanos(nextStep - now);
+                    continue;
+                }
+                if (!map.canStep()) {
+                    nextStep = now; // The input has run out, e.g. at the end of a replayed match
+                    LockSupport.parkNanos(STEP_NANOS);
+                    continue;
+                }
+                for (int steps = 0; now >= nextStep && steps < MAX_CATCH_UP && map.canStep(); steps++) {
+                    map.step();
+                    if (afterStep != null) {
+                        afterStep.run();
+                    }
+                    nextStep += STEP_NANOS;
+                }
+                if (now >= nextStep) {
+                    nextStep = now; // Still behind, drop the missed time instead of spiralling
+                }
+                publish();
+            }
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    private void runCommands() {
+        Runnable command;
+        boolean ran = false;
+        while ((command = commands.poll()) != null) {
+            command.run();
+            ran = true;
+        }
+        if (ran) {
+            publish(); // Show the result even while paused
+        }
+    }
+
+    /**
+     * Captures the map into the back state and makes it the latest one.
+     */
+    private void publish() {
+        states[back].capture(map);
+        back = latest.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Returns the latest state of the map. Must be called on the render thread.
+     * The state stays valid until the next call.
+     * @throws GdxRuntimeException If the simulation has failed.
+     */
+    public RenderState acquire() {
+        if (failure != null) {
+            throw new GdxRuntimeException("The simulation has failed", failure);
+        }
+        if ((latest.get() & FRESH) != 0) {
+            front = latest.getAndSet(front) & INDEX;
+        }
+        return states[front];
+    }
+
+    /**
+     * Runs work on the map between two steps, even while paused.
+     * @param command Run on the simulation thread.
+     */
+    public void submit(Runnable command) {
+        commands.add(command);
+    }
+
+    /**
+     * Stops or continues the simulation, e.g. while another screen is shown.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Stops the simulation and waits until the current step is done. The map can be used by the caller again.
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
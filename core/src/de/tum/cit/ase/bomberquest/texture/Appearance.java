@@ -0,0 +1,26 @@
+package de.tum.cit.ase.bomberquest.texture;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The ways an entity on the map can look, see {@link de.tum.cit.ase.bomberquest.entity.SpriteComponent}.
+ * The map only stores these, the textures are looked up when the entity is drawn.
+ */
+public enum Appearance {
+
+    PLAYER,
+    BOMB,
+    EXIT;
+
+    /**
+     * Returns the texture to draw.
+     * @param time The time since the match started, in seconds, used for animations.
+     */
+    public TextureRegion at(float time) {
+        return switch (this) {
+            case PLAYER -> Animations.CHARACTER_WALK_DOWN.getKeyFrame(time, true);
+            case BOMB -> Textures.BOMB;
+            case EXIT -> Textures.EXIT;
+        };
+    }
+}
@@ -1,61 +1,115 @@
 package de.tum.cit.ase.bomberquest.texture;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.Assets;
 
 /**
  * Enumerates all spritesheets used in the game and provides helper methods for grabbing texture regions from them.
  * It is assumed that every spritesheet has some standard grid size which can be used for easier coordinate specification.
  * See the assets/texture folder for the actual texture files (plus some more samples which are not enumerated here).
  * Feel free to add your own spritesheets and use them in the game!
+ * <p>
+ * At build time, the packTextures Gradle task packs all spritesheets into a single texture atlas,
+ * so everything in the game is drawn from the same texture and the SpriteBatch never has to switch textures.
+ * The atlas is loaded in the background by {@link Assets}, which hands every spritesheet its region once it is done.
+ * Every cell of a spritesheet is then turned into a {@link TextureRegion} once.
+ * If the atlas has not been packed, e.g. when running from an IDE, the separate PNG files are loaded instead.
  *
  * @see Texture a whole image
  * @see TextureRegion a part of an image
  */
 public enum SpriteSheet {
-    
+
     /** The character spritesheet, which has a grid size of 16x32. */
-    CHARACTER("character.png", 16, 32),
+    CHARACTER("character", 16, 32),
     /** The basic tiles spritesheet, which has a grid size of 16x16. */
-    BASIC_TILES("basictiles.png", 16, 16);
-    
-    private final Texture spritesheet;
+    BASIC_TILES("basictiles", 16, 16),
+    /** The original Bomberman spritesheet with walls, bombs and the exit, which has a grid size of 16x16. */
+    ORIGINAL_BOMBERMAN("original-bomberman", 16, 16);
+
+    /** The atlas file written by the packTextures Gradle task. */
+    public static final String ATLAS_FILE = "atlas/sprites.atlas";
+
+    private final String name;
     private final int width;
     private final int height;
-    
+    private int columns;
+    private int rows;
+    /** Every cell of the spritesheet, row by row from the top left, or null if it has not been loaded yet. */
+    private TextureRegion[] cells;
+
     /**
      * Constructor for each variant of this enum.
-     * Every SpriteSheet has a corresponding file, width, and height.
-     * @param filename the filename of the spritesheet
+     * Every SpriteSheet has a corresponding region in the atlas (or file), width, and height.
+     * @param name the name of the spritesheet, which is its filename without extension
      * @param width the width of a single grid cell
      * @param height the height of a single grid cell
      */
-    SpriteSheet(String filename, int width, int height) {
-        this.spritesheet = new Texture(Gdx.files.internal("texture/" + filename));
+    SpriteSheet(String name, int width, int height) {
+        this.name = name;
         this.width = width;
         this.height = height;
     }
-    
+
+    /**
+     * Cuts the loaded spritesheet into its grid cells.
+     * @param assets The assets, which must have finished loading.
+     */
+    private void resolve(Assets assets) {
+        TextureRegion sheet = assets.getSpriteSheet(this);
+        columns = sheet.getRegionWidth() / width;
+        rows = sheet.getRegionHeight() / height;
+        TextureRegion[] cells = new TextureRegion[rows * columns];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                cells[row * columns + column] = new TextureRegion(sheet, column * width, row * height, width, height);
+            }
+        }
+        this.cells = cells;
+    }
+
+    /**
+     * Hands every spritesheet its loaded texture. Called by {@link Assets} once everything has been loaded.
+     */
+    public static void resolveAll(Assets assets) {
+        for (SpriteSheet sheet : values()) {
+            sheet.resolve(assets);
+        }
+    }
+
     /**
      * Returns the TextureRegion at the specified row and column (1-based coordinates)
      * according to the grid specified by {@code this.width} and {@code this.height}.
      * This method assumes the size of the texture to be a single grid cell.
      * Keep in mind that since spritesheet textures typically start in the top-left corner,
      * the row index starts at 1 at the top and the column index starts at 1 on the left.
+     * <p>
+     * The same region is returned on every call and shared by everyone, so it must not be changed.
      *
      * @param row the row of the texture to fetch, starting from 1 at the TOP of the spritesheet
      * @param column the column of the texture to fetch, starting from 1 on the LEFT of the spritesheet
      * @return the texture
      */
     public TextureRegion at(int row, int column) {
-        return new TextureRegion(
-                spritesheet,
-                (column - 1) * this.width,
-                (row - 1) * this.height,
-                this.width,
-                this.height
-        );
+        if (cells == null) {
+            throw new GdxRuntimeException("The spritesheet " + name + " has not been loaded yet");
+        }
+        if (row < 1 || row > rows || column < 1 || column > columns) {
+            throw new IllegalArgumentException("No cell at row " + row + ", column " + column + " in " + name()
+                    + " (" + rows + "x" + columns + " cells of " + width + "x" + height + ")");
+        }
+        return cells[(row - 1) * columns + column - 1];
+    }
+
+    /** Returns the name of the spritesheet in the atlas. */
+    public String getName() {
+        return name;
+    }
+
+    /** Returns the file of the spritesheet, which is loaded if the atlas has not been packed. */
+    public String getFileName() {
+        return "texture/" + name + ".png";
     }
-    
 }
@@ -0,0 +1,219 @@
+package de.tum.cit.ase.bomberquest.input;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import de.tum.cit.ase.bomberquest.map.MapSnapshot;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records buttons, stores them as runs, writes them to replay files and reads them back,
+ * and plays a recorded match again through a {@link ReplayInput}.
+ */
+class InputRecordingTest {
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+    }
+
+    private static void append(InputRecording recording, int buttons, int steps) {
+        for (int i = 0; i < steps; i++) {
+            recording.append(buttons);
+        }
+    }
+
+    /**
+     * Checks that both recordings replay the same matches with the same buttons.
+     */
+    private static void assertSameRecording(InputRecording expected, InputRecording actual) {
+        assertEquals(expected.getMapName(), actual.getMapName());
+        assertEquals(expected.getRules().getInitialTime(), actual.getRules().getInitialTime());
+        assertEquals(expected.getRules().getBlastRadius(), actual.getRules().getBlastRadius());
+        assertEquals(expected.getRules().getEnemyCount(), actual.getRules().getEnemyCount());
+        assertEquals(expected.getMatchCount(), actual.getMatchCount());
+        ReplayInput expectedInput = new ReplayInput(expected);
+        ReplayInput actualInput = new ReplayInput(actual);
+        for (int match = 0; match < expected.getMatchCount(); match++) {
+            assertEquals(expected.getSeed(match), actual.getSeed(match));
+            assertEquals(expected.getStepCount(match), actual.getStepCount(match));
+            for (int step = 0; step < expected.getStepCount(match); step++) {
+                assertEquals(expectedInput.poll(step), actualInput.poll(step), "Match " + match + ", step " + step);
+            }
+            expectedInput.nextMatch();
+            actualInput.nextMatch();
+        }
+    }
+
+    @Test
+    void equalStepsAreMergedIntoRuns() {
+        InputRecording recording = new InputRecording("map-1", 1, GameRules.DEFAULT);
+        append(recording, PlayerInput.UP, 3);
+        append(recording, PlayerInput.LEFT | PlayerInput.BOMB, 2);
+        append(recording, PlayerInput.UP, 1);
+        assertEquals(3, recording.getEndRun(0));
+        assertEquals(3, recording.getRunLength(0));
+        assertEquals(PlayerInput.LEFT | PlayerInput.BOMB, recording.getRunButtons(1));
+        assertEquals(6, recording.getStepCount());
+
+        // Runs are stored with 16 bits, longer runs are split
+        append(recording, 0, 70_000);
+        assertEquals(5, recording.getEndRun(0));
+        assertEquals(0xFFFF, recording.getRunLength(3));
+        assertEquals(70_000 - 0xFFFF, recording.getRunLength(4));
+        assertEquals(70_006, recording.getStepCount(0));
+    }
+
+    @Test
+    void restartsStartANewMatch() {
+        InputRecording recording = new InputRecording("map-1", 1, GameRules.DEFAULT);
+        append(recording, PlayerInput.UP, 10);
+        recording.restart(2);
+        append(recording, PlayerInput.UP, 5);
+
+        assertEquals(2, recording.getMatchCount());
+        assertEquals(2, recording.getSeed(1));
+        assertEquals(10, recording.getStepCount(0));
+        assertEquals(5, recording.getStepCount(1));
+        assertEquals(15, recording.getStepCount());
+        assertEquals(1, recording.getFirstRun(1), "Runs are never merged across matches");
+    }
+
+    @Test
+    void truncateOnlyCutsTheCurrentMatch() {
+        InputRecording recording = new InputRecording("map-1", 1, GameRules.DEFAULT);
+        append(recording, PlayerInput.DOWN, 4);
+        recording.restart(2);
+        append(recording, PlayerInput.UP, 3);
+        append(recording, PlayerInput.RIGHT, 3);
+
+        recording.truncate(4);
+        assertEquals(4, recording.getStepCount(1));
+        assertEquals(1, recording.getRunLength(recording.getEndRun(1) - 1));
+        recording.truncate(2);
+        assertEquals(2, recording.getStepCount(1));
+        assertEquals(recording.getFirstRun(1) + 1, recording.getEndRun(1));
+        recording.truncate(10);
+        assertEquals(2, recording.getStepCount(1), "Nothing is cut past the end");
+        recording.truncate(0);
+        assertEquals(0, recording.getStepCount(1));
+        assertEquals(4, recording.getStepCount(0));
+
+        // Recording goes on from the cut
+        append(recording, PlayerInput.LEFT, 2);
+        ReplayInput input = new ReplayInput(recording);
+        input.nextMatch();
+        assertEquals(PlayerInput.LEFT, input.poll(1));
+    }
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        InputRecording recording = new InputRecording("K\u00e4rnten", -5, new GameRules(120f, 3, 7));
+        Random random = new Random(1);
+        for (int match = 0; match < 3; match++) {
+            for (int i = 0; i < 200; i++) {
+                append(recording, random.nextInt(32), 1 + random.nextInt(50));
+            }
+            recording.restart(random.nextLong());
+        }
+        append(recording, 0, 70_000);
+
+        assertSameRecording(recording, InputRecording.decode(recording.encode()));
+    }
+
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        InputRecording recording = new InputRecording("map-2", 9, GameRules.DEFAULT);
+        append(recording, PlayerInput.UP, 100);
+        recording.restart(10);
+        append(recording, PlayerInput.BOMB, 1);
+        File file = File.createTempFile("session", "." + InputRecording.EXTENSION);
+        file.deleteOnExit();
+        recording.write(new FileHandle(file));
+
+        assertSameRecording(recording, InputRecording.read(new FileHandle(file)));
+    }
+
+    @Test
+    void rejectsBrokenFiles() {
+        InputRecording recording = new InputRecording("map-1", 1, GameRules.DEFAULT);
+        append(recording, PlayerInput.UP, 10);
+        ByteBuffer encoded = recording.encode();
+
+        ByteBuffer wrongMagic = ByteBuffer.wrap(encoded.array().clone(), 0, encoded.limit());
+        wrongMagic.put(0, (byte) 'X');
+        assertThrows(GdxRuntimeException.class, () -> InputRecording.decode(wrongMagic));
+
+        ByteBuffer wrongVersion = ByteBuffer.wrap(encoded.array().clone(), 0, encoded.limit());
+        wrongVersion.put(4, (byte) 99);
+        assertThrows(GdxRuntimeException.class, () -> InputRecording.decode(wrongVersion));
+
+        // The step count of the first match comes after the header, the name "map-1" and its seed
+        ByteBuffer wrongSteps = ByteBuffer.wrap(encoded.array().clone(), 0, encoded.limit());
+        wrongSteps.put(4 + 2 + 2 + 5 + 4 * 4 + 8, (byte) 11);
+        assertThrows(GdxRuntimeException.class, () -> InputRecording.decode(wrongSteps));
+    }
+
+    @Test
+    void replayInputStopsAtTheEndOfEachMatch() {
+        InputRecording recording = new InputRecording("map-1", 1, GameRules.DEFAULT);
+        append(recording, PlayerInput.UP, 2);
+        append(recording, PlayerInput.DOWN, 2);
+        recording.restart(2);
+        append(recording, PlayerInput.LEFT, 1);
+
+        ReplayInput input = new ReplayInput(recording);
+        assertEquals(PlayerInput.DOWN, input.poll(3));
+        assertEquals(PlayerInput.UP, input.poll(0), "Polling an earlier step starts the match over");
+        assertTrue(input.hasStep(3));
+        assertFalse(input.hasStep(4));
+        assertEquals(0, input.poll(4), "Nothing is pressed after the end");
+
+        assertTrue(input.nextMatch());
+        assertEquals(2, input.getSeed());
+        assertEquals(PlayerInput.LEFT, input.poll(0));
+        assertTrue(input.isFinished(1));
+        assertFalse(input.nextMatch());
+    }
+
+    @Test
+    void replayPlaysTheMatchAgain() {
+        MapData mapData = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+        Random random = new Random(4);
+        int[] buttons = new int[2_000];
+        for (int step = 0; step < buttons.length; step++) {
+            buttons[step] = step % 30 == 0 ? 1 << random.nextInt(5) : buttons[step - 1] & ~PlayerInput.BOMB;
+        }
+        InputRecording recording = new InputRecording("map-1", 8, GameRules.DEFAULT);
+        GameMap played = recording.createMap(mapData,
+                new RecordingInput(new ScriptedInput(buttons, false), recording));
+        for (int i = 0; i < buttons.length; i++) {
+            played.step();
+        }
+
+        InputRecording loaded = InputRecording.decode(recording.encode());
+        GameMap replayed = loaded.createMap(mapData, new ReplayInput(loaded));
+        while (replayed.canStep()) {
+            replayed.step();
+        }
+        assertEquals(buttons.length, replayed.getStepCount());
+        assertEquals(MapSnapshot.write(played, null), MapSnapshot.write(replayed, null));
+        played.dispose();
+        replayed.dispose();
+    }
+}
@@ -0,0 +1,141 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.entity.Mappers;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sets off bombs in a small room and checks how far the explosions spread,
+ * and that the burning tiles in the grid always match the flames the engine keeps track of.
+ */
+class BlastEngineTest {
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+    }
+
+    /**
+     * A room of 9x3 free tiles inside indestructible walls, with a destructible wall at 8,2 and the exit under 9,1.
+     * The player starts at 1,3 and an enemy stands at 4,1.
+     */
+    private static GameMap createRoom() {
+        TileGrid tiles = new TileGrid(11, 5);
+        for (int y = 0; y < 5; y++) {
+            for (int x = 0; x < 11; x++) {
+                if (x == 0 || y == 0 || x == 10 || y == 4) {
+                    tiles.set(x, y, TileGrid.INDESTRUCTIBLE_WALL);
+                }
+            }
+        }
+        tiles.set(8, 2, TileGrid.DESTRUCTIBLE_WALL);
+        tiles.set(9, 1, TileGrid.DESTRUCTIBLE_WALL | TileGrid.EXIT);
+        MapData mapData = new MapData(tiles);
+        mapData.setEntrance(tiles.index(1, 3));
+        mapData.getExits().add(tiles.index(9, 1));
+        mapData.getEnemies().add(tiles.index(4, 1));
+        return new GameMap(mapData, 1, PlayerInput.NONE, new GameRules(300f, 2, -1));
+    }
+
+    /**
+     * Checks that every flame burns a different tile, and that exactly the tiles with a flame are burning.
+     */
+    private static void assertFlamesMatchTiles(GameMap map) {
+        BlastEngine blasts = map.getBlastEngine();
+        TileGrid tiles = map.getTileGrid();
+        boolean[] seen = new boolean[tiles.getWidth() * tiles.getHeight()];
+        for (int i = 0; i < blasts.getFlameCount(); i++) {
+            int cell = blasts.getFlameCell(i);
+            assertFalse(seen[cell], "Cell " + cell + " has a single flame");
+            seen[cell] = true;
+        }
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                assertEquals(seen[tiles.index(x, y)], tiles.isBurning(x, y), "Burning at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void bombsSetOffTheBombsInTheirBlast() {
+        GameMap map = createRoom();
+        Entity first = map.placeBomb(2, 2);
+        Entity second = map.placeBomb(4, 2);
+        Entity third = map.placeBomb(6, 2);
+        Entity above = map.placeBomb(6, 3);
+        Entity apart = map.placeBomb(9, 3);
+
+        map.getBlastEngine().detonate(first);
+        map.getBlastEngine().process();
+
+        assertTrue(Mappers.FUSE.get(second).exploded);
+        assertTrue(Mappers.FUSE.get(third).exploded);
+        assertTrue(Mappers.FUSE.get(above).exploded, "The third bomb's blast reaches upwards");
+        assertFalse(Mappers.FUSE.get(apart).exploded);
+        for (int x = 1; x <= 8; x++) {
+            assertTrue(map.getTileGrid().isBurning(x, 2), "Burning at " + x + ",2");
+        }
+        assertFalse(map.getTileGrid().isBurning(9, 2), "The destructible wall stops the blast");
+        assertFalse(map.getTileGrid().isSolid(8, 2));
+        assertTrue(map.getTileGrid().isSolid(9, 1));
+        assertFalse(map.isExitRevealed());
+        assertFalse(map.getTileGrid().isBurning(2, 0), "Indestructible walls never burn");
+        assertEquals(0, map.getEnemies().size(), "The enemy at 4,1 was in the blast");
+        // The row, the tiles above and below the three bombs in it, and the tiles around the fourth bomb
+        assertEquals(8 + 6 + 3, map.getBlastEngine().getFlameCount(), "Every tile burns once");
+        assertFlamesMatchTiles(map);
+        map.dispose();
+    }
+
+    @Test
+    void burningDownKeepsTheFlamesInSync() {
+        GameMap map = createRoom();
+        BlastEngine blasts = map.getBlastEngine();
+        blasts.detonate(map.placeBomb(2, 2));
+        blasts.process();
+        blasts.update(BlastEngine.FLAME_DURATION / 2);
+
+        // A second explosion overlaps the first one, so the flames burn down at different times
+        blasts.detonate(map.placeBomb(3, 2));
+        blasts.process();
+        assertFlamesMatchTiles(map);
+        int count = blasts.getFlameCount();
+        for (int i = 0; i < count; i++) {
+            int cell = blasts.getFlameCell(i);
+            int x = cell % map.getTileGrid().getWidth();
+            boolean reignited = cell / map.getTileGrid().getWidth() == 2 ? x >= 1 && x <= 5 : x == 3;
+            assertEquals(reignited ? BlastEngine.FLAME_DURATION : BlastEngine.FLAME_DURATION / 2,
+                    blasts.getFlameTime(i), 1e-6f, "Time of the flame at " + cell);
+        }
+
+        // The flames of the first explosion go out, the flames that are left are moved into their slots
+        blasts.update(BlastEngine.FLAME_DURATION * 0.75f);
+        assertFlamesMatchTiles(map);
+        assertEquals(5 + 2, blasts.getFlameCount());
+        assertTrue(map.getTileGrid().isBurning(3, 3));
+        assertFalse(map.getTileGrid().isBurning(2, 3));
+
+        // Reigniting a tile after the flames have moved finds its flame instead of adding another one
+        blasts.detonate(map.placeBomb(5, 1));
+        blasts.process();
+        assertFlamesMatchTiles(map);
+        assertEquals(7 + 5, blasts.getFlameCount(), "New flames at 4,1 5,1 6,1 7,1 and 5,3");
+        blasts.update(BlastEngine.FLAME_DURATION * 0.4f);
+        assertFlamesMatchTiles(map);
+        assertEquals(5 + 2, blasts.getFlameCount(), "The flames at 3,1 and 5,2 burn longer");
+        assertTrue(map.getTileGrid().isBurning(3, 1));
+        assertTrue(map.getTileGrid().isBurning(5, 2));
+
+        blasts.update(BlastEngine.FLAME_DURATION);
+        assertEquals(0, blasts.getFlameCount());
+        assertFlamesMatchTiles(map);
+        map.dispose();
+    }
+}
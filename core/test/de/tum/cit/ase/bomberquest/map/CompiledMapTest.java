@@ -0,0 +1,58 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiles the shipped maps and reads them back, from memory and through a memory-mapped file.
+ */
+class CompiledMapTest {
+
+    @Test
+    void encodeAndDecodeRoundTrip() {
+        for (String name : new String[]{"map-1", "map-2"}) {
+            MapData source = MapLoader.load(new FileHandle("../maps/" + name + ".properties"));
+            MapData compiled = CompiledMap.decode(CompiledMap.encode(source));
+            assertTrue(source.contentEquals(compiled), name + " is the same after compiling");
+        }
+    }
+
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        MapData source = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+        source.getExits().add(source.getTiles().index(3, 3));
+        File file = File.createTempFile("map", "." + CompiledMap.EXTENSION);
+        file.deleteOnExit();
+        CompiledMap.write(source, new FileHandle(file));
+
+        MapData read = CompiledMap.read(new FileHandle(file));
+        assertTrue(source.contentEquals(read));
+        assertEquals(source.getTiles().index(3, 3), read.getExits().first());
+    }
+
+    @Test
+    void rejectsBrokenFiles() {
+        MapData source = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+        ByteBuffer encoded = CompiledMap.encode(source);
+
+        ByteBuffer cutOff = ByteBuffer.wrap(encoded.array(), 0, encoded.limit() - 100);
+        assertThrows(GdxRuntimeException.class, () -> CompiledMap.decode(cutOff));
+
+        ByteBuffer wrongMagic = ByteBuffer.wrap(encoded.array().clone(), 0, encoded.limit());
+        wrongMagic.put(0, (byte) 'X');
+        assertThrows(GdxRuntimeException.class, () -> CompiledMap.decode(wrongMagic));
+
+        ByteBuffer wrongVersion = ByteBuffer.wrap(encoded.array().clone(), 0, encoded.limit());
+        wrongVersion.put(4, (byte) 99);
+        assertThrows(GdxRuntimeException.class, () -> CompiledMap.decode(wrongVersion));
+    }
+}
@@ -0,0 +1,104 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the distances of a field that is updated as walls are destroyed with a field computed from scratch.
+ */
+class FlowFieldTest {
+
+    private static void assertSameDistances(TileGrid tiles, FlowField expected, FlowField actual) {
+        for (int y = 0; y < tiles.getHeight(); y++) {
+            for (int x = 0; x < tiles.getWidth(); x++) {
+                assertEquals(expected.getDistance(x, y), actual.getDistance(x, y), "Distance at " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void distancesFollowThePaths() {
+        // A corridor around a wall: . . .
+        //                           . # .
+        //                           P # .
+        TileGrid tiles = new TileGrid(3, 3);
+        tiles.set(1, 0, TileGrid.DESTRUCTIBLE_WALL);
+        tiles.set(1, 1, TileGrid.DESTRUCTIBLE_WALL);
+        FlowField field = new FlowField(tiles, 10);
+        field.update(0, 0);
+
+        assertEquals(0, field.getDistance(0, 0));
+        assertEquals(6, field.getDistance(2, 0));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(1, 0), "Walls are never reached");
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(-1, 0));
+        assertEquals(tiles.index(2, 2), field.nextStep(2, 1));
+        assertEquals(-1, field.nextStep(0, 0), "The player is already there");
+
+        tiles.destroy(1, 0);
+        field.onWallDestroyed(1, 0);
+        assertEquals(1, field.getDistance(1, 0));
+        assertEquals(2, field.getDistance(2, 0));
+        assertEquals(3, field.getDistance(2, 1));
+        assertEquals(tiles.index(1, 0), field.nextStep(2, 0));
+    }
+
+    @Test
+    void searchStopsAtTheMaximumDistance() {
+        TileGrid tiles = new TileGrid(10, 1);
+        FlowField field = new FlowField(tiles, 4);
+        field.update(0.2f, -0.3f);
+        assertEquals(4, field.getDistance(4, 0));
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(5, 0));
+        assertEquals(-1, field.nextStep(5, 0));
+    }
+
+    @Test
+    void destroyedWallsGiveTheSameDistancesAsANewSearch() {
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            TileGrid tiles = new TileGrid(25, 25);
+            for (int y = 0; y < 25; y++) {
+                for (int x = 0; x < 25; x++) {
+                    if (random.nextInt(10) < 4) {
+                        tiles.set(x, y, TileGrid.DESTRUCTIBLE_WALL);
+                    }
+                }
+            }
+            int playerX = random.nextInt(25);
+            int playerY = random.nextInt(25);
+            tiles.set(playerX, playerY, TileGrid.PATH);
+            FlowField field = new FlowField(tiles, 12);
+            field.update(playerX, playerY);
+
+            for (int i = 0; i < 100; i++) {
+                int x = random.nextInt(25);
+                int y = random.nextInt(25);
+                if (tiles.destroy(x, y)) {
+                    field.onWallDestroyed(x, y);
+                }
+            }
+            FlowField fresh = new FlowField(tiles, 12);
+            fresh.update(playerX, playerY);
+            assertSameDistances(tiles, fresh, field);
+        }
+    }
+
+    @Test
+    void invalidatedFieldsAreRecomputed() {
+        TileGrid tiles = new TileGrid(3, 1);
+        FlowField field = new FlowField(tiles, 10);
+        field.update(0, 0);
+        assertEquals(2, field.getDistance(2, 0));
+
+        // Walls that are put back are only seen after invalidating the field
+        tiles.set(1, 0, TileGrid.INDESTRUCTIBLE_WALL);
+        field.update(0, 0);
+        assertEquals(2, field.getDistance(2, 0));
+        field.invalidate();
+        field.update(0, 0);
+        assertEquals(FlowField.UNREACHABLE, field.getDistance(2, 0));
+    }
+}
@@ -0,0 +1,126 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.input.InputRecording;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.input.RecordingInput;
+import de.tum.cit.ase.bomberquest.input.ReplayInput;
+import de.tum.cit.ase.bomberquest.input.ScriptedInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Plays matches on the first shipped map and compares their states through {@link MapSnapshot keyframes},
+ * which hold everything that decides how a match goes on: the tiles, the clock, the random numbers and every entity.
+ */
+class GameMapTest {
+
+    private static MapData mapData;
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+        mapData = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+    }
+
+    /**
+     * Walks around in random directions and drops a bomb now and then, so walls are destroyed and enemies are killed.
+     */
+    static int[] randomButtons(long seed, int steps) {
+        Random random = new Random(seed);
+        int[] directions = {PlayerInput.UP, PlayerInput.DOWN, PlayerInput.LEFT, PlayerInput.RIGHT};
+        int[] buttons = new int[steps];
+        int direction = 0;
+        for (int step = 0; step < steps; step++) {
+            if (step % 20 == 0) {
+                direction = directions[random.nextInt(directions.length)];
+            }
+            buttons[step] = direction | (random.nextInt(40) == 0 ? PlayerInput.BOMB : 0);
+        }
+        return buttons;
+    }
+
+    static void step(GameMap map, int steps) {
+        for (int i = 0; i < steps; i++) {
+            map.step();
+        }
+    }
+
+    @Test
+    void sameSeedAndInputGiveTheSameMatch() {
+        int[] buttons = randomButtons(2, 3_000);
+        GameMap first = new GameMap(mapData.copy(), 42, new ScriptedInput(buttons, false));
+        GameMap second = new GameMap(mapData.copy(), 42, new ScriptedInput(buttons, false));
+        GameMap otherSeed = new GameMap(mapData.copy(), 43, new ScriptedInput(buttons, false));
+        for (int i = 0; i < 30; i++) {
+            step(first, 100);
+            step(second, 100);
+            step(otherSeed, 100);
+            ByteBuffer state = MapSnapshot.write(first, null);
+            assertEquals(state, MapSnapshot.write(second, null), "State after step " + first.getStepCount());
+        }
+        assertFalse(first.getTileGrid().contentEquals(mapData.getTiles()), "Walls have been destroyed");
+        assertFalse(MapSnapshot.write(first, null).equals(MapSnapshot.write(otherSeed, null)),
+                "Another seed plays another match");
+        first.dispose();
+        second.dispose();
+        otherSeed.dispose();
+    }
+
+    @Test
+    void resetStartsLikeANewMap() {
+        GameMap played = new GameMap(mapData.copy(), 1, new ScriptedInput(randomButtons(1, 1_200), false));
+        step(played, 1_200);
+        assertFalse(played.getTileGrid().contentEquals(mapData.getTiles()), "Walls have been destroyed");
+        played.reset(7);
+        GameMap fresh = new GameMap(mapData.copy(), 7, PlayerInput.NONE);
+
+        assertEquals(MapSnapshot.write(fresh, null), MapSnapshot.write(played, null), "State after the reset");
+        assertEquals(fresh.getWorld().getBodyCount(), played.getWorld().getBodyCount(), "Bodies after the reset");
+        played.dispose();
+        fresh.dispose();
+    }
+
+    @Test
+    void replayResetsWhereTheSessionRestarted() {
+        InputRecording recording = new InputRecording("map-1", 3, GameRules.DEFAULT);
+        ScriptedInput script = new ScriptedInput(randomButtons(3, 1_500), true);
+        GameMap played = recording.createMap(mapData, new RecordingInput(script, recording));
+        step(played, 900);
+        recording.restart(11);
+        played.reset(11);
+        step(played, 1_500);
+        recording.restart(12);
+        played.reset(12);
+        step(played, 600);
+
+        InputRecording loaded = InputRecording.decode(recording.encode());
+        ReplayInput input = new ReplayInput(loaded);
+        GameMap replayed = loaded.createMap(mapData, input);
+        int matches = 1;
+        while (true) {
+            while (replayed.canStep()) {
+                replayed.step();
+            }
+            if (!input.nextMatch()) {
+                break;
+            }
+            replayed.reset(input.getSeed());
+            matches++;
+        }
+
+        assertEquals(3, matches);
+        assertEquals(600, replayed.getStepCount());
+        ByteBuffer expected = MapSnapshot.write(played, null);
+        assertEquals(expected, MapSnapshot.write(replayed, null), "State at the end of the replay");
+        played.dispose();
+        replayed.dispose();
+    }
+}
@@ -0,0 +1,93 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads the shipped maps and small hand-written files, including broken ones that have to be rejected.
+ */
+class MapLoaderTest {
+
+    private static MapData load(String contents) {
+        try {
+            File file = File.createTempFile("map", ".properties");
+            file.deleteOnExit();
+            Files.writeString(file.toPath(), contents, StandardCharsets.UTF_8);
+            return MapLoader.load(new FileHandle(file));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void loadsTheShippedMaps() {
+        MapData map1 = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+        assertEquals(21, map1.getTiles().getWidth());
+        assertEquals(21, map1.getTiles().getHeight());
+        assertEquals(map1.getTiles().index(1, 10), map1.getEntrance());
+        assertEquals(14, map1.getEnemies().size);
+        assertEquals(16 + 11, map1.getPowerUps().size);
+        assertEquals(TileGrid.INDESTRUCTIBLE_WALL, map1.getTiles().getType(0, 0));
+
+        MapData map2 = MapLoader.load(new FileHandle("../maps/map-2.properties"));
+        assertEquals(21, map2.getTiles().getWidth());
+        assertEquals(map2.getTiles().index(10, 10), map2.getEntrance());
+        assertEquals(6, map2.getEnemies().size);
+    }
+
+    @Test
+    void readsEveryKindOfEntry() {
+        MapData map = load("# A comment\n! Another comment\n\n0,0=0\n 1 , 0 = 1 \r\n2,0:2\n3,0=3\n4,0=4\n5,0=5\n6,1=6");
+        TileGrid tiles = map.getTiles();
+        assertEquals(7, tiles.getWidth());
+        assertEquals(2, tiles.getHeight());
+        assertEquals(TileGrid.INDESTRUCTIBLE_WALL, tiles.getType(0, 0));
+        assertEquals(TileGrid.DESTRUCTIBLE_WALL, tiles.getType(1, 0));
+        assertEquals(tiles.index(2, 0), map.getEntrance());
+        assertEquals(tiles.index(3, 0), map.getEnemies().first());
+        assertTrue(tiles.hasExit(4, 0));
+        assertTrue(tiles.isDestructible(4, 0), "The exit is hidden under a wall");
+        assertEquals(TileGrid.BOMB_POWER_UP, tiles.getPowerUp(5, 0));
+        assertEquals(TileGrid.BLAST_POWER_UP, tiles.getPowerUp(6, 1));
+        assertTrue(tiles.isDestructible(6, 1), "Power-ups are hidden under walls");
+        assertEquals(TileGrid.PATH, tiles.getType(0, 1), "Cells without an entry are paths");
+    }
+
+    @Test
+    void rejectsMalformedLines() {
+        assertThrows(GdxRuntimeException.class, () -> load("0,0=0\n1,0\n"));
+        assertThrows(GdxRuntimeException.class, () -> load("0,0=0\n1;0=0\n"));
+        assertThrows(GdxRuntimeException.class, () -> load("1 2,0=0"));
+        assertThrows(GdxRuntimeException.class, () -> load("-1,0=0"));
+        assertThrows(GdxRuntimeException.class, () -> load("0,0="));
+        assertThrows(GdxRuntimeException.class, () -> load("0,0=9"));
+        assertThrows(GdxRuntimeException.class, () -> load("# Only a comment\n"));
+    }
+
+    @Test
+    void rejectsASecondEntrance() {
+        GdxRuntimeException e = assertThrows(GdxRuntimeException.class, () -> load("1,1=2\n3,4=2\n"));
+        assertTrue(e.getMessage().contains("3,4"), e.getMessage());
+    }
+
+    @Test
+    void rejectsMapsThatAreTooLarge() {
+        // Each coordinate on its own is fine, the area is not
+        assertThrows(GdxRuntimeException.class, () -> load("0,0=2\n5000,5000=0\n"));
+        // Numbers that would overflow an int
+        assertThrows(GdxRuntimeException.class, () -> load("99999999999,0=0\n"));
+        // A long and narrow map of a reasonable area is fine
+        MapData narrow = load("0,0=2\n40000,1=0\n");
+        assertEquals(40001, narrow.getTiles().getWidth());
+    }
+}
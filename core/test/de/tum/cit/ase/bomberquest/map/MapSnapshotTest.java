@@ -0,0 +1,130 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.input.ScriptedInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static de.tum.cit.ase.bomberquest.map.GameMapTest.randomButtons;
+import static de.tum.cit.ase.bomberquest.map.GameMapTest.step;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Takes keyframes and deltas of a match on the first shipped map, plays on, and restores them.
+ * A restored map must write exactly the keyframe it would have written when the snapshot was taken.
+ */
+class MapSnapshotTest {
+
+    private static MapData mapData;
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+        mapData = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+    }
+
+    private static GameMap play(long seed) {
+        return new GameMap(mapData.copy(), seed, new ScriptedInput(randomButtons(seed, 3_000), false));
+    }
+
+    @Test
+    void keyframeRoundTrip() {
+        GameMap map = play(1);
+        step(map, 600);
+        ByteBuffer keyframe = MapSnapshot.write(map, null);
+        assertTrue(MapSnapshot.isKeyframe(keyframe));
+        assertEquals(600L, MapSnapshot.getStep(keyframe));
+
+        step(map, 600);
+        assertFalse(keyframe.equals(MapSnapshot.write(map, null)));
+        MapSnapshot.restore(map, keyframe);
+        assertEquals(600L, map.getStepCount());
+        assertEquals(keyframe, MapSnapshot.write(map, null));
+        map.dispose();
+    }
+
+    @Test
+    void deltaRoundTrip() {
+        GameMap map = play(2);
+        step(map, 300);
+        ByteBuffer keyframe = MapSnapshot.write(map, null);
+        step(map, 900);
+        ByteBuffer delta = MapSnapshot.writeDelta(map, keyframe, null);
+        ByteBuffer expected = MapSnapshot.write(map, null);
+        assertFalse(MapSnapshot.isKeyframe(delta));
+        assertEquals(1_200L, MapSnapshot.getStep(delta));
+        assertFalse(map.getTileGrid().contentEquals(mapData.getTiles()), "Walls have been destroyed");
+
+        step(map, 600);
+        MapSnapshot.restore(map, keyframe, delta);
+        assertEquals(expected, MapSnapshot.write(map, null));
+
+        // Going back to the keyframe puts the destroyed walls back
+        MapSnapshot.restore(map, keyframe);
+        assertEquals(keyframe, MapSnapshot.write(map, null));
+        map.dispose();
+    }
+
+    @Test
+    void snapshotsCanBeRestoredIntoAnotherMap() {
+        GameMap played = play(3);
+        step(played, 1_500);
+        ByteBuffer keyframe = MapSnapshot.write(played, null);
+        GameMap other = new GameMap(mapData.copy(), 4, PlayerInput.NONE);
+
+        MapSnapshot.restore(other, keyframe);
+        assertEquals(keyframe, MapSnapshot.write(other, null));
+        assertTrue(other.getTileGrid().contentEquals(played.getTileGrid()));
+        assertEquals(played.getEnemies().size(), other.getEnemies().size());
+        played.dispose();
+        other.dispose();
+    }
+
+    @Test
+    void buffersAreReused() {
+        GameMap map = play(5);
+        ByteBuffer keyframe = MapSnapshot.write(map, null);
+        step(map, 60);
+        assertSame(keyframe, MapSnapshot.write(map, keyframe));
+        ByteBuffer delta = MapSnapshot.writeDelta(map, keyframe, null);
+        assertSame(delta, MapSnapshot.writeDelta(map, keyframe, delta));
+        map.dispose();
+    }
+
+    @Test
+    void rejectsSnapshotsThatDoNotFit() {
+        GameMap map = play(6);
+        ByteBuffer keyframe = MapSnapshot.write(map, null);
+        step(map, 60);
+        ByteBuffer delta = MapSnapshot.writeDelta(map, keyframe, null);
+
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.restore(map, delta));
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.restore(map, keyframe, keyframe));
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.writeDelta(map, delta, null));
+
+        ByteBuffer wrongMagic = ByteBuffer.wrap(keyframe.array().clone(), 0, keyframe.limit());
+        wrongMagic.put(0, (byte) 'X');
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.restore(map, wrongMagic));
+
+        // A keyframe of a map of another size
+        TileGrid tiles = new TileGrid(3, 3);
+        tiles.set(1, 1, TileGrid.DESTRUCTIBLE_WALL);
+        MapData small = new MapData(tiles);
+        small.setEntrance(0);
+        GameMap smallMap = new GameMap(small, 1, PlayerInput.NONE, new GameRules(300f, 2, 0));
+        ByteBuffer smallKeyframe = MapSnapshot.write(smallMap, null);
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.restore(map, smallKeyframe));
+        assertThrows(GdxRuntimeException.class, () -> MapSnapshot.restore(smallMap, keyframe));
+        map.dispose();
+        smallMap.dispose();
+    }
+}
@@ -0,0 +1,105 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.bomberquest.input.ScriptedInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static de.tum.cit.ase.bomberquest.map.GameMapTest.randomButtons;
+import static de.tum.cit.ase.bomberquest.map.GameMapTest.step;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records more snapshots than the history holds, so its groups wrap around, and rewinds across the groups.
+ * Every rewound state is compared with a keyframe taken when the snapshot was recorded.
+ */
+class SnapshotHistoryTest {
+
+    private static MapData mapData;
+
+    @BeforeAll
+    static void setUp() {
+        Box2D.init();
+        mapData = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+    }
+
+    /**
+     * Records a snapshot every 10 steps and returns a keyframe of each recorded state.
+     */
+    private static Array<ByteBuffer> record(GameMap map, SnapshotHistory history, int snapshots) {
+        Array<ByteBuffer> states = new Array<>();
+        for (int i = 0; i < snapshots; i++) {
+            step(map, 10);
+            history.record(map);
+            states.add(MapSnapshot.write(map, null));
+        }
+        return states;
+    }
+
+    @Test
+    void oldestGroupIsDroppedWhenFull() {
+        GameMap map = new GameMap(mapData.copy(), 1, new ScriptedInput(randomButtons(1, 3_000), false));
+        SnapshotHistory history = new SnapshotHistory(3, 4);
+        record(map, history, 12);
+        assertEquals(12, history.size());
+        // The next snapshot reuses the group of the four oldest ones
+        record(map, history, 1);
+        assertEquals(9, history.size());
+        record(map, history, 3);
+        assertEquals(12, history.size());
+        map.dispose();
+    }
+
+    @Test
+    void rewindAcrossGroups() {
+        GameMap map = new GameMap(mapData.copy(), 2, new ScriptedInput(randomButtons(2, 3_000), false));
+        SnapshotHistory history = new SnapshotHistory(3, 4);
+        // Snapshots 8 to 11 are in the last group, 12 to 15 in the first one and 16 to 19 in the second one
+        Array<ByteBuffer> states = record(map, history, 20);
+
+        // Back into the delta of the group before
+        assertTrue(history.rewind(map, 5));
+        assertEquals(states.get(14), MapSnapshot.write(map, null));
+        assertEquals(7, history.size());
+        // Back over the start of the buffers, and not further than the oldest snapshot
+        assertTrue(history.rewind(map, 100));
+        assertEquals(states.get(8), MapSnapshot.write(map, null));
+        assertEquals(1, history.size());
+        // The restored snapshot stays in the history
+        assertTrue(history.rewind(map, 0));
+        assertEquals(states.get(8), MapSnapshot.write(map, null));
+
+        // Recording goes on from the rewound snapshot and fills up the history again
+        Array<ByteBuffer> later = record(map, history, 15);
+        assertEquals(12, history.size());
+        assertTrue(history.rewind(map, 6));
+        assertEquals(later.get(8), MapSnapshot.write(map, null));
+        map.dispose();
+    }
+
+    @Test
+    void emptyHistoryCannotBeRewound() {
+        GameMap map = new GameMap(mapData.copy(), 3, new ScriptedInput(randomButtons(3, 3_000), false));
+        SnapshotHistory history = new SnapshotHistory(2, 2);
+        assertFalse(history.rewind(map, 0));
+        record(map, history, 3);
+        history.clear();
+        assertEquals(0, history.size());
+        assertFalse(history.rewind(map, 0));
+        assertEquals(30L, map.getStepCount(), "The map is left alone");
+
+        // The buffers are reused after clearing
+        Array<ByteBuffer> states = record(map, history, 2);
+        assertTrue(history.rewind(map, 1));
+        assertEquals(states.first(), MapSnapshot.write(map, null));
+        assertThrows(IllegalArgumentException.class, () -> new SnapshotHistory(0, 4));
+        map.dispose();
+    }
+}
@@ -0,0 +1,146 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import com.badlogic.gdx.utils.Array;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Adds, moves and removes objects, also from inside a query, and checks that every tile still lists exactly its objects.
+ */
+class SpatialIndexTest {
+
+    private static Array<String> inTile(SpatialIndex<String> index, int x, int y) {
+        Array<String> found = new Array<>();
+        index.forEachInTile(x, y, item -> {
+            found.add(item);
+            return true;
+        });
+        return found;
+    }
+
+    @Test
+    void objectsAreFoundInTheirTile() {
+        SpatialIndex<String> index = new SpatialIndex<>(4, 4);
+        index.add("a", 1, 1);
+        index.add("b", 1.4f, 0.6f);
+        index.add("c", 2, 1);
+
+        Array<String> found = inTile(index, 1, 1);
+        assertEquals(2, found.size);
+        assertTrue(found.contains("a", true) && found.contains("b", true));
+        assertSame("c", index.first(2, 1));
+        assertNull(index.first(3, 3));
+        assertNull(index.first(-1, 0), "Outside of the map");
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void movedObjectsChangeTheirTile() {
+        SpatialIndex<String> index = new SpatialIndex<>(4, 4);
+        int a = index.add("a", 1, 1);
+        index.add("b", 1, 1);
+
+        index.move(a, 1.2f, 1.3f);
+        assertEquals(2, inTile(index, 1, 1).size, "Moves within the tile keep the object there");
+        index.move(a, 3, 2);
+        assertEquals(1, inTile(index, 1, 1).size);
+        assertSame("a", index.first(3, 2));
+        index.move(a, 10, -5);
+        assertSame("a", index.first(3, 0), "Positions outside of the map are clamped to the border");
+    }
+
+    @Test
+    void removedIdsAreHandedOutAgain() {
+        SpatialIndex<String> index = new SpatialIndex<>(4, 4);
+        int a = index.add("a", 0, 0);
+        index.add("b", 0, 0);
+        index.remove(a);
+        assertEquals(1, index.size());
+        assertSame("b", index.first(0, 0));
+
+        int c = index.add("c", 2, 2);
+        assertEquals(a, c);
+        assertSame("c", index.first(2, 2));
+        assertEquals(1, inTile(index, 0, 0).size);
+    }
+
+    @Test
+    void theVisitorMayRemoveAndMoveObjects() {
+        SpatialIndex<String> index = new SpatialIndex<>(4, 4);
+        int[] ids = new int[5];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = index.add("item" + i, 2, 2);
+        }
+
+        // Remove every second object while walking the tile and move the others away
+        Array<String> visited = new Array<>();
+        index.forEachInTile(2, 2, item -> {
+            visited.add(item);
+            int i = item.charAt(4) - '0';
+            if (i % 2 == 0) {
+                index.remove(ids[i]);
+            } else {
+                index.move(ids[i], 0, 3);
+            }
+            return true;
+        });
+        assertEquals(5, visited.size, "Every object is visited once");
+        assertNull(index.first(2, 2));
+        assertEquals(2, inTile(index, 0, 3).size);
+        assertEquals(2, index.size());
+
+        index.forEachWithin(0, 3, 1, item -> {
+            index.remove(ids[item.charAt(4) - '0']);
+            return true;
+        });
+        assertEquals(0, index.size());
+        assertNull(index.first(0, 3));
+    }
+
+    @Test
+    void queriesStopWhenTheVisitorSaysSo() {
+        SpatialIndex<String> index = new SpatialIndex<>(4, 4);
+        for (int i = 0; i < 3; i++) {
+            index.add("item" + i, 1, 1);
+        }
+        int[] visits = {0};
+        assertFalse(index.forEachInTile(1, 1, item -> ++visits[0] < 2));
+        assertEquals(2, visits[0]);
+        assertTrue(index.forEachInTile(3, 3, item -> false), "An empty tile visits nothing");
+    }
+
+    @Test
+    void findWithinMeasuresTheDistance() {
+        SpatialIndex<String> index = new SpatialIndex<>(8, 8);
+        index.add("near", 3.4f, 3);
+        index.add("far", 5, 5);
+        assertSame("near", index.findWithin(3, 3, 0.5f));
+        assertNull(index.findWithin(3, 3, 0.3f));
+        assertSame("far", index.findWithin(5.5f, 5.5f, 1), "The object does not have to be in the center tile");
+        assertNull(index.findWithin(0, 0, 2));
+    }
+
+    @Test
+    void manyObjectsGrowTheIndex() {
+        SpatialIndex<Integer> index = new SpatialIndex<>(10, 10);
+        int[] ids = new int[100];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = index.add(i, i % 10, i / 10);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            index.move(ids[i], 9 - i % 10, i / 10);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i, (int) index.first(9 - i % 10, i / 10));
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        assertNull(index.first(0, 0));
+        assertEquals(0, index.add(42, 0, 0), "Ids start over after clearing");
+    }
+}
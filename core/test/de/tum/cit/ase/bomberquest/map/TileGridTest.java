@@ -0,0 +1,105 @@
+package de.tum.cit.ase.bomberquest.map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the type, the flags and the power-up of a cell are packed into its byte without touching each other.
+ */
+class TileGridTest {
+
+    @Test
+    void fieldsOfACellAreIndependent() {
+        TileGrid tiles = new TileGrid(3, 2);
+        tiles.setType(1, 1, TileGrid.DESTRUCTIBLE_WALL);
+        tiles.setPowerUp(1, 1, TileGrid.BLAST_POWER_UP);
+        tiles.setBurning(1, 1, true);
+        tiles.set(1, 1, tiles.get(1, 1) | TileGrid.EXIT);
+
+        assertEquals(TileGrid.DESTRUCTIBLE_WALL | TileGrid.EXIT | TileGrid.BLAST_POWER_UP << 4 | TileGrid.FLAME,
+                tiles.get(1, 1));
+        assertEquals(TileGrid.DESTRUCTIBLE_WALL, tiles.getType(1, 1));
+        assertEquals(TileGrid.BLAST_POWER_UP, tiles.getPowerUp(1, 1));
+        assertTrue(tiles.hasExit(1, 1));
+        assertTrue(tiles.isBurning(1, 1));
+
+        tiles.setType(1, 1, TileGrid.PATH);
+        tiles.setPowerUp(1, 1, TileGrid.BOMB_POWER_UP);
+        tiles.setBurning(1, 1, false);
+        assertEquals(TileGrid.PATH, tiles.getType(1, 1));
+        assertEquals(TileGrid.BOMB_POWER_UP, tiles.getPowerUp(1, 1));
+        assertTrue(tiles.hasExit(1, 1));
+        assertFalse(tiles.isBurning(1, 1));
+        // The neighbours are untouched
+        assertEquals(0, tiles.get(0, 1));
+        assertEquals(0, tiles.get(2, 1));
+        assertEquals(0, tiles.get(1, 0));
+    }
+
+    @Test
+    void cellsAreStoredRowByRow() {
+        TileGrid tiles = new TileGrid(4, 3);
+        tiles.set(3, 1, TileGrid.INDESTRUCTIBLE_WALL);
+        assertEquals(7, tiles.index(3, 1));
+        assertEquals(TileGrid.INDESTRUCTIBLE_WALL, tiles.getCell(7));
+    }
+
+    @Test
+    void destroyedWallsStopBeingSolid() {
+        TileGrid tiles = new TileGrid(2, 1);
+        tiles.set(0, 0, TileGrid.DESTRUCTIBLE_WALL);
+        tiles.set(1, 0, TileGrid.INDESTRUCTIBLE_WALL);
+        assertTrue(tiles.isSolid(0, 0));
+
+        assertTrue(tiles.destroy(0, 0));
+        assertFalse(tiles.isSolid(0, 0));
+        assertFalse(tiles.isDestructible(0, 0));
+        assertEquals(TileGrid.DESTRUCTIBLE_WALL, tiles.getType(0, 0), "A destroyed wall keeps its type");
+        assertFalse(tiles.destroy(0, 0), "A wall can only be destroyed once");
+        assertFalse(tiles.destroy(1, 0), "Indestructible walls stay");
+        assertTrue(tiles.isSolid(1, 0));
+    }
+
+    @Test
+    void outsideOfTheGridIsSolid() {
+        TileGrid tiles = new TileGrid(2, 2);
+        assertTrue(tiles.isSolid(-1, 0));
+        assertTrue(tiles.isSolid(0, 2));
+        assertFalse(tiles.isSolid(1, 1));
+        assertFalse(tiles.isBurning(5, 5));
+    }
+
+    @Test
+    void copyFromReportsChangedWalls() {
+        TileGrid tiles = new TileGrid(3, 3);
+        tiles.set(1, 1, TileGrid.DESTRUCTIBLE_WALL);
+        TileGrid pristine = tiles.copy();
+        assertTrue(tiles.contentEquals(pristine));
+
+        // Flags that do not block movement are not reported
+        tiles.setBurning(0, 0, true);
+        assertFalse(tiles.contentEquals(pristine));
+        assertFalse(tiles.copyFrom(pristine));
+        assertTrue(tiles.contentEquals(pristine));
+
+        tiles.destroy(1, 1);
+        assertTrue(tiles.copyFrom(pristine));
+        assertTrue(tiles.isSolid(1, 1));
+        assertTrue(tiles.contentEquals(pristine));
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        TileGrid tiles = new TileGrid(2, 2);
+        TileGrid copy = tiles.copy();
+        copy.set(0, 0, TileGrid.INDESTRUCTIBLE_WALL);
+        assertEquals(TileGrid.PATH, tiles.get(0, 0));
+        assertFalse(tiles.contentEquals(copy));
+        assertFalse(tiles.contentEquals(new TileGrid(4, 1)), "Grids of different sizes are never equal");
+        assertThrows(IllegalArgumentException.class, () -> tiles.copyFrom(new TileGrid(4, 1)));
+    }
+}
@@ -0,0 +1,98 @@
+package de.tum.cit.ase.bomberquest.screen;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.input.PlayerInput;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import de.tum.cit.ase.bomberquest.profiling.FrameProfiler;
+import de.tum.cit.ase.bomberquest.simulation.RenderState;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Renders the HUD without a window, on a {@link NoOpGL20}, to check that it does not allocate once it is warmed up.
+ * The tests run without the optimizing JIT compiler, see build.gradle, because it sometimes deoptimizes a method
+ * and allocates objects it had optimized away, which would make the allocation count flaky.
+ */
+class HudTest {
+
+    /** Enough for the pools of the font and the sprite batch to fill up. */
+    private static final int WARM_UP_FRAMES = 1_000;
+    private static final int MEASURED_FRAMES = 3_000;
+
+    private static HeadlessApplication application;
+    private static MapData mapData;
+    private static SpriteBatch spriteBatch;
+    private static BitmapFont font;
+
+    @BeforeAll
+    static void setUp() {
+        application = new HeadlessApplication(new ApplicationAdapter() {
+        });
+        Gdx.gl = Gdx.gl20 = new NoOpGL20();
+        Box2D.init();
+        mapData = MapLoader.load(new FileHandle("../maps/map-1.properties"));
+        spriteBatch = new SpriteBatch();
+        font = new BitmapFont(); // The font that comes with libGDX
+    }
+
+    @AfterAll
+    static void tearDown() {
+        font.dispose();
+        spriteBatch.dispose();
+        application.exit();
+    }
+
+    @Test
+    void renderDoesNotAllocate() {
+        GameMap map = new GameMap(mapData.copy(), 42, PlayerInput.NONE);
+        map.getEvents().setEnabled(false); // Nothing dispatches them here
+        RenderState state = new RenderState();
+        Hud hud = new Hud(spriteBatch, font, new FrameProfiler(60));
+        hud.resize(800, 600);
+        // The remaining time changes in every step, so the time is laid out again in every frame
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            map.step();
+            state.capture(map);
+            hud.render(state);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = 0;
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            map.step();
+            state.capture(map);
+            long before = threads.getCurrentThreadAllocatedBytes();
+            hud.render(state);
+            allocated += threads.getCurrentThreadAllocatedBytes() - before;
+        }
+        map.dispose();
+        assertEquals(0, allocated, "Bytes allocated by " + MEASURED_FRAMES + " frames");
+    }
+
+    @Test
+    void remainingTimeIsRounded() {
+        // One step before 1.999 seconds are left
+        GameMap map = new GameMap(mapData.copy(), 42, PlayerInput.NONE, new GameRules(1.999f + GameMap.TIME_STEP, 1, 0));
+        RenderState state = new RenderState();
+        Hud hud = new Hud(spriteBatch, font, new FrameProfiler(60));
+        hud.resize(800, 600);
+        map.step();
+        state.capture(map);
+        hud.render(state);
+        map.dispose();
+        assertEquals("Time Remaining: 2.00s", hud.getTimeText().toString());
+    }
+}
@@ -5,6 +5,8 @@
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import games.spooky.gdx.nativefilechooser.desktop.DesktopFileChooser;
 
+import java.util.Arrays;
+
 /**
  * The DesktopLauncher class is the entry point for the desktop version of the Bomber Quest game.
  * It sets up the game window and launches the game using LibGDX framework.
@@ -13,7 +15,8 @@ public class DesktopLauncher {
 	/**
 	 * The main method sets up the configuration for the game window and starts the application.
 	 *
-	 * @param arg Command line arguments (not used in this application)
+	 * @param arg Command line arguments: {@code --threaded-simulation} simulates the map on its own thread,
+	 *            see {@link BomberQuestGame#setThreadedSimulation(boolean)}
 	 */
 	public static void main(String[] arg) {
 		// Configuration for the game window
@@ -31,6 +34,8 @@ public static void main(String[] arg) {
 		config.setForegroundFPS(60); // Set the foreground frames per second
 
 		// Launch the game
-		new Lwjgl3Application(new BomberQuestGame(new DesktopFileChooser()), config);
+		BomberQuestGame game = new BomberQuestGame(new DesktopFileChooser());
+		game.setThreadedSimulation(Arrays.asList(arg).contains("--threaded-simulation"));
+		new Lwjgl3Application(game, config);
 	}
 }
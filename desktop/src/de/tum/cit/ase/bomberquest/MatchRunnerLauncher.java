@@ -0,0 +1,50 @@
+package de.tum.cit.ase.bomberquest;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.map.CompiledMap;
+import de.tum.cit.ase.bomberquest.map.GameRules;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import de.tum.cit.ase.bomberquest.simulation.MatchRunner;
+import de.tum.cit.ase.bomberquest.simulation.MatchStatistics;
+
+/**
+ * Plays automated matches without a window and prints how they ended.
+ * Usage: {@code <map file> [matches] [threads] [enemies] [time] [blast radius] [seed]}.
+ * Use -1 enemies to keep the enemies of the map file.
+ */
+public class MatchRunnerLauncher {
+	/**
+	 * The main method loads the map, plays the matches and prints the statistics.
+	 *
+	 * @param arg Command line arguments, see the class documentation
+	 */
+	public static void main(String[] arg) {
+		if (arg.length < 1) {
+			System.err.println("Usage: <map file> [matches] [threads] [enemies] [time] [blast radius] [seed]");
+			System.exit(1);
+		}
+		FileHandle file = new FileHandle(arg[0]);
+		int matches = arg.length > 1 ? Integer.parseInt(arg[1]) : 1000;
+		int threads = arg.length > 2 ? Integer.parseInt(arg[2]) : Runtime.getRuntime().availableProcessors();
+		int enemies = arg.length > 3 ? Integer.parseInt(arg[3]) : -1;
+		float time = arg.length > 4 ? Float.parseFloat(arg[4]) : GameRules.DEFAULT.getInitialTime();
+		int blastRadius = arg.length > 5 ? Integer.parseInt(arg[5]) : GameRules.DEFAULT.getBlastRadius();
+		long seed = arg.length > 6 ? Long.parseLong(arg[6]) : 0;
+
+		Box2D.init(); // Load the native Box2D library, there is no application to do it for us
+		MapData mapData = file.extension().equals(CompiledMap.EXTENSION) ? CompiledMap.read(file) : MapLoader.load(file);
+		GameRules rules = new GameRules(time, blastRadius, enemies);
+
+		System.out.println("Playing " + matches + " matches on " + file.name() + " with " + threads + " threads, " + rules);
+		MatchRunner runner = new MatchRunner(threads);
+		long start = System.nanoTime();
+		MatchStatistics statistics = runner.run(mapData, rules, matches, seed);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		runner.shutdown();
+
+		System.out.println(statistics);
+		System.out.printf("%.1f s, %.0f steps per second%n", seconds, statistics.getSteps() / seconds);
+	}
+}
@@ -0,0 +1,114 @@
+package de.tum.cit.ase.bomberquest;
+
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import de.tum.cit.ase.bomberquest.input.InputRecording;
+import de.tum.cit.ase.bomberquest.input.ReplayInput;
+import de.tum.cit.ase.bomberquest.map.CompiledMap;
+import de.tum.cit.ase.bomberquest.map.GameMap;
+import de.tum.cit.ase.bomberquest.map.MapData;
+import de.tum.cit.ase.bomberquest.map.MapLoader;
+import games.spooky.gdx.nativefilechooser.desktop.DesktopFileChooser;
+
+/**
+ * Plays a recorded session again, see {@link InputRecording}.
+ * Usage: {@code <replay file> [--render | map file]}.
+ * Without {@code --render} the session is simulated without a window as fast as possible,
+ * and the slowest step is reported, so stutters and regressions can be reproduced and measured.
+ * With {@code --render} the session is shown in a window at normal speed.
+ * Unless a map file is given, the map is looked up by its name: first the compiled map in {@code maps/},
+ * then the source in {@code ../maps/}, which is where both are when running from the assets folder.
+ */
+public class ReplayLauncher {
+	/**
+	 * The main method loads the replay and plays it.
+	 *
+	 * @param arg Command line arguments, see the class documentation
+	 */
+	public static void main(String[] arg) {
+		if (arg.length < 1) {
+			System.err.println("Usage: <replay file> [--render | map file]");
+			System.exit(1);
+		}
+		InputRecording recording = InputRecording.read(new FileHandle(arg[0]));
+		if (arg.length > 1 && arg[1].equals("--render")) {
+			render(recording);
+		} else {
+			simulate(recording, arg.length > 1 ? new FileHandle(arg[1]) : findMap(recording.getMapName()));
+		}
+	}
+
+	/**
+	 * Opens the game in a window that watches the replay.
+	 */
+	private static void render(InputRecording recording) {
+		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
+		config.setTitle("Bomber Quest - Replay");
+		Graphics.DisplayMode displayMode = Lwjgl3ApplicationConfiguration.getDisplayMode();
+		config.setWindowedMode(
+				Math.round(0.8f * displayMode.width),
+				Math.round(0.8f * displayMode.height)
+		);
+		config.useVsync(true);
+		config.setForegroundFPS(60);
+		new Lwjgl3Application(new BomberQuestGame(new DesktopFileChooser(), recording), config);
+	}
+
+	/**
+	 * Plays every match of the replay without a window, resetting the map where the session restarted it.
+	 */
+	private static void simulate(InputRecording recording, FileHandle file) {
+		Box2D.init(); // Load the native Box2D library, there is no application to do it for us
+		MapData mapData = file.extension().equals(CompiledMap.EXTENSION) ? CompiledMap.read(file) : MapLoader.load(file);
+		ReplayInput input = new ReplayInput(recording);
+		GameMap map = recording.createMap(mapData, input);
+
+		System.out.println("Replaying " + recording.getStepCount() + " steps in " + recording.getMatchCount()
+				+ " matches on " + recording.getMapName() + " with seed " + recording.getSeed(0) + ", " + recording.getRules());
+		long steps = 0;
+		long slowestStep = 0;
+		long slowestStepNumber = 0;
+		int slowestStepMatch = 0;
+		int match = 0;
+		long start = System.nanoTime();
+		while (true) {
+			while (map.canStep()) {
+				long stepStart = System.nanoTime();
+				map.step();
+				map.getEvents().dispatch();
+				long stepTime = System.nanoTime() - stepStart;
+				steps++;
+				if (stepTime > slowestStep) {
+					slowestStep = stepTime;
+					slowestStepNumber = map.getStepCount() - 1;
+					slowestStepMatch = match;
+				}
+			}
+			if (!input.nextMatch()) {
+				break;
+			}
+			map.reset(input.getSeed());
+			match++;
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.println("Stopped after " + map.getStepCount() + " steps of the last match: "
+				+ (map.isWon() ? "won" : map.getPlayer().isDead() ? "lost" : map.isGameOver() ? "time is up" : "still running")
+				+ ", player at " + map.getPlayer().getX() + ", " + map.getPlayer().getY()
+				+ ", " + map.getEnemies().size() + " enemies left");
+		System.out.printf("%.3f s, %.0f steps per second, slowest step %d of match %d took %.3f ms%n",
+				seconds, steps / seconds, slowestStepNumber, slowestStepMatch, slowestStep / 1e6);
+		map.dispose();
+	}
+
+	/**
+	 * Prefers the compiled version of the map, like the game does.
+	 */
+	private static FileHandle findMap(String name) {
+		FileHandle compiled = new FileHandle("maps/" + name + "." + CompiledMap.EXTENSION);
+		return compiled.exists() ? compiled : new FileHandle("../maps/" + name + ".properties");
+	}
+}